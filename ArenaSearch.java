@@ -0,0 +1,177 @@
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Search for all shortest paths that keeps its states in a FrontierArena
+ * instead of as TraceStates. Each state costs four bytes of int storage while
+ * it waits in the frontier, and four bytes of arena for the rest of the
+ * search: the arena is append-only, so expanded and pruned states are never
+ * reclaimed and its size is the total number of states the search creates,
+ * not the peak frontier. That total is still bounded by MAX_STATES, and at
+ * four bytes a state boards running to hundreds of millions of states fit
+ * where TraceStates would exhaust the heap.
+ *
+ * A state holds no path of its own. When one is retrieved its path is
+ * rebuilt by following parents back to the starting component and marked on
+ * a single shared array, which serves every neighbor check of that
+ * expansion. States are stored, pruned and expanded in the same order and
+ * under the same Manhattan bound as CircuitTracer's storage search, so the
+ * solutions come out in the same order; only solutions become TraceStates.
+ *
+ * @author Daylen Mathews
+ */
+public class ArenaSearch {
+
+    /**
+     * the move encoded in an arena state indexes these steps
+     */
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+    /**
+     * moves in the order CircuitTracer stores states from the starting
+     * component, then from a trace position
+     */
+    private static final int[] START_ORDER = {1, 0, 3, 2};
+    private static final int[] STEP_ORDER = {0, 1, 2, 3};
+
+    private CircuitBoard board;
+    private IntStorage frontier;
+    private FrontierArena arena;
+    private int cols;
+    private int startRow;
+    private int startCol;
+    private int endRow;
+    private int endCol;
+    /**
+     * path of the state being expanded, as row * cols + col from the first
+     * trace, and a mark on each of its positions
+     */
+    private int[] path;
+    private boolean[] onPath;
+
+    /**
+     * @param board board to search
+     * @param frontier empty stack or queue of the states still to expand
+     */
+    public ArenaSearch(CircuitBoard board, IntStorage frontier) {
+        this(board, frontier, new FrontierArena());
+    }
+
+    /**
+     * @param board board to search
+     * @param frontier empty stack or queue of the states still to expand
+     * @param arena empty arena to hold the states
+     */
+    public ArenaSearch(CircuitBoard board, IntStorage frontier, FrontierArena arena) {
+        this.board = board;
+        this.arena = arena;
+        this.frontier = frontier;
+        cols = board.numCols();
+        startRow = board.getStartingIndex() / cols;
+        startCol = board.getStartingIndex() % cols;
+        endRow = board.getEndingIndex() / cols;
+        endCol = board.getEndingIndex() % cols;
+        path = new int[board.numRows() * cols];
+        onPath = new boolean[path.length];
+    }
+
+    /**
+     * Search the board, then close the arena.
+     *
+     * @return all shortest solutions, in the order they were found
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        try {
+            return search();
+        } finally {
+            arena.close();
+        }
+    }
+
+    /**
+     * @return all shortest solutions, in the order they were found
+     */
+    private ArrayList<TraceState> search() {
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        int bestLength = Integer.MAX_VALUE;
+        int root = arena.add(FrontierArena.NO_PARENT, 0);
+        for (int move : START_ORDER) {
+            if (board.isOpen(startRow + ROW_STEP[move], startCol + COL_STEP[move])) {
+                frontier.store(arena.add(root, move));
+            }
+        }
+        while (!frontier.isEmpty()) {
+            int state = frontier.retrieve();
+            int length = rebuildPath(state);
+            int row = path[length - 1] / cols;
+            int col = path[length - 1] % cols;
+            int distance = Math.abs(row - endRow) + Math.abs(col - endCol);
+            if (length + distance - 1 > bestLength) {
+                clearPath(length);
+                continue; //a shorter solution was found after this state was stored
+            }
+            if (distance == 1) {
+                if (length < bestLength) {
+                    bestPaths.clear();
+                    bestLength = length;
+                }
+                bestPaths.add(new TraceState(board, Arrays.copyOf(path, length)));
+            } else {
+                for (int move : STEP_ORDER) {
+                    int nextRow = row + ROW_STEP[move];
+                    int nextCol = col + COL_STEP[move];
+                    if (board.isOpen(nextRow, nextCol) && !onPath[nextRow * cols + nextCol]
+                            && length + Math.abs(nextRow - endRow) + Math.abs(nextCol - endCol) <= bestLength) {
+                        frontier.store(arena.add(state, move));
+                    }
+                }
+            }
+            clearPath(length);
+        }
+        return bestPaths;
+    }
+
+    /**
+     * Decode a state's path into path and mark it in onPath.
+     *
+     * @param state arena index of the state
+     * @return number of positions on the path
+     */
+    private int rebuildPath(int state) {
+        int length = 0;
+        for (int s = state; arena.parentOf(s) != FrontierArena.NO_PARENT; s = arena.parentOf(s)) {
+            path[length++] = arena.moveOf(s); //moves, last first
+        }
+        int row = startRow;
+        int col = startCol;
+        for (int i = 0; i < length / 2; i++) {
+            int move = path[i];
+            path[i] = path[length - 1 - i];
+            path[length - 1 - i] = move;
+        }
+        for (int i = 0; i < length; i++) {
+            row += ROW_STEP[path[i]];
+            col += COL_STEP[path[i]];
+            path[i] = row * cols + col;
+            onPath[path[i]] = true;
+        }
+        return length;
+    }
+
+    /**
+     * Remove the marks of a path rebuilt by rebuildPath.
+     */
+    private void clearPath(int length) {
+        for (int i = 0; i < length; i++) {
+            onPath[path[i]] = false;
+        }
+    }
+
+    /**
+     * @return number of states the search created
+     */
+    public int statesCreated() {
+        return arena.size() - 1;
+    }
+} // class ArenaSearch
@@ -0,0 +1,145 @@
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Approximate search for one short path between the components of a
+ * CircuitBoard, for boards too large to search exactly. The search advances
+ * one trace position per round like a breadth-first search, but each round
+ * keeps only the width states whose last position is nearest '2' by
+ * Manhattan distance and drops the rest. A position taken by one kept state
+ * is never entered again, so each round holds at most width states and at
+ * most four times as many candidates. The search as a whole is still
+ * O(board): it marks taken positions in an array the size of the board, the
+ * states kept over all rounds number at most one per open position, and so
+ * do the rounds. CircuitTracer's reachability filter, run before any
+ * search, is board-sized as well.
+ *
+ * The trace found is not necessarily shortest; its length is reported
+ * against the Manhattan lower bound, which no trace can beat. A beam at
+ * least as wide as every breadth-first level finds a shortest trace.
+ *
+ * @author Daylen Mathews
+ */
+public class BeamSearch {
+
+    /**
+     * beam width used when none is given on the command line
+     */
+    public static final int DEFAULT_WIDTH = 100;
+
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+    /**
+     * states of a round all have the same length, so this ranks them by
+     * Manhattan distance to '2'
+     */
+    private static final Comparator<TraceState> NEAREST_END = Comparator.comparingInt(TraceState::minSolutionLength);
+
+    private int width;
+    private int lowerBound;
+    private TraceState bestPath;
+
+    /**
+     * Run the beam until a state reaches '2' or the beam empties.
+     *
+     * @param board board to search
+     * @param width number of states kept per round
+     */
+    public BeamSearch(CircuitBoard board, int width) {
+        this.width = width;
+        int cols = board.numCols();
+        int startRow = board.getStartingIndex() / cols;
+        int startCol = board.getStartingIndex() % cols;
+        lowerBound = Math.abs(startRow - board.getEndingIndex() / cols)
+                + Math.abs(startCol - board.getEndingIndex() % cols) - 1;
+        if (lowerBound < 1) {
+            lowerBound += 2; //a trace needs at least one position, and keeps the parity of the bound
+        }
+        boolean[][] taken = new boolean[board.numRows()][board.numCols()];
+
+        Storage<TraceState> candidates = Storage.getPriorityInstance(NEAREST_END);
+        for (int dir = 0; dir < ROW_STEP.length; dir++) {
+            if (board.isOpen(startRow + ROW_STEP[dir], startCol + COL_STEP[dir])) {
+                candidates.store(new TraceState(board, startRow + ROW_STEP[dir], startCol + COL_STEP[dir]));
+            }
+        }
+        ArrayList<TraceState> beam = select(candidates, taken);
+        while (!beam.isEmpty()) {
+            for (TraceState state : beam) {
+                if (state.isSolution()) {
+                    bestPath = state; //the beam is in rank order, so this is the nearest state that made it
+                    return;
+                }
+            }
+            candidates = Storage.getPriorityInstance(NEAREST_END);
+            for (TraceState state : beam) {
+                for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                    int row = state.getRow() + ROW_STEP[dir];
+                    int col = state.getCol() + COL_STEP[dir];
+                    if (state.isOpen(row, col) && !taken[row][col]) {
+                        candidates.store(new TraceState(state, row, col));
+                    }
+                }
+            }
+            beam = select(candidates, taken);
+        }
+    }
+
+    /**
+     * Take the best ranked candidates, at most one per position, until the
+     * beam is full.
+     *
+     * @param candidates states of the next round
+     * @param taken positions already held by a kept state, updated
+     * @return the next beam, in rank order
+     */
+    private ArrayList<TraceState> select(Storage<TraceState> candidates, boolean[][] taken) {
+        ArrayList<TraceState> beam = new ArrayList<TraceState>(width);
+        while (!candidates.isEmpty() && beam.size() < width) {
+            TraceState state = candidates.retrieve();
+            if (!taken[state.getRow()][state.getCol()]) {
+                taken[state.getRow()][state.getCol()] = true;
+                beam.add(state);
+            }
+        }
+        return beam;
+    }
+
+    /**
+     * @return the trace found, or null if the beam emptied first
+     */
+    public TraceState getBestPath() {
+        return bestPath;
+    }
+
+    /**
+     * @return the trace found, as the only element, or an empty list
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        if (bestPath != null) {
+            bestPaths.add(bestPath);
+        }
+        return bestPaths;
+    }
+
+    /**
+     * @return fewest positions any trace on the board could have
+     */
+    public int lowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * @return one line giving the length of the trace found and how far it
+     * can be from a shortest one
+     */
+    public String summary() {
+        if (bestPath == null) {
+            return "Beam width " + width + " found no trace; a wider beam or an exact search may still find one.";
+        }
+        return "Beam width " + width + " found a trace of length " + bestPath.pathLength() + ", at most "
+                + (bestPath.pathLength() - lowerBound) + " longer than the shortest (lower bound " + lowerBound + ").";
+    }
+} // class BeamSearch
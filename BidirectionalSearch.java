@@ -0,0 +1,226 @@
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Finds all shortest paths between the components of a CircuitBoard by growing
+ * breadth-first frontiers from both '1' and '2' and stopping as soon as they
+ * meet. The more constrained component (fewer open neighbors) is expanded
+ * first, and afterwards whichever frontier is smaller is expanded one whole
+ * level at a time, so neither search has to cover the full distance alone.
+ * Once the frontiers meet, every shortest path crosses a single meeting layer;
+ * the half paths leading back from each meeting position to either component
+ * are enumerated separately and joined into complete solutions.
+ *
+ * @author Daylen Mathews
+ */
+public class BidirectionalSearch {
+
+    private static final int UNREACHED = DistanceField.UNREACHED;
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    private CircuitBoard board;
+    /**
+     * distances labelled so far by each frontier
+     */
+    private int[][] fromStart;
+    private int[][] fromEnd;
+    /**
+     * number of complete levels expanded by each frontier
+     */
+    private int startLevel;
+    private int endLevel;
+    private int shortestLength = UNREACHED;
+    private int visited;
+
+    /**
+     * Grow both frontiers until they meet or one of them runs out.
+     *
+     * @param board board to search
+     */
+    public BidirectionalSearch(CircuitBoard board) {
+        this.board = board;
+        fromStart = unreachedField();
+        fromEnd = unreachedField();
+        ArrayList<Point> startFrontier = new ArrayList<Point>();
+        ArrayList<Point> endFrontier = new ArrayList<Point>();
+        startFrontier.add(board.getStartingPoint());
+        endFrontier.add(board.getEndingPoint());
+
+        //each side must take one step before an empty frontier proves there is no path
+        boolean startFirst = openNeighbors(board.getStartingPoint()) <= openNeighbors(board.getEndingPoint());
+        if (startFirst) {
+            startFrontier = expand(startFrontier, fromStart, fromEnd, ++startLevel);
+        } else {
+            endFrontier = expand(endFrontier, fromEnd, fromStart, ++endLevel);
+        }
+        if (startFrontier.isEmpty() || endFrontier.isEmpty()) {
+            return;
+        }
+        if (startFirst) {
+            endFrontier = expand(endFrontier, fromEnd, fromStart, ++endLevel);
+        } else {
+            startFrontier = expand(startFrontier, fromStart, fromEnd, ++startLevel);
+        }
+        while (shortestLength == UNREACHED && !startFrontier.isEmpty() && !endFrontier.isEmpty()) {
+            if (startFrontier.size() <= endFrontier.size()) {
+                startFrontier = expand(startFrontier, fromStart, fromEnd, ++startLevel);
+            } else {
+                endFrontier = expand(endFrontier, fromEnd, fromStart, ++endLevel);
+            }
+        }
+    }
+
+    /**
+     * @return a rows x cols field with every position UNREACHED
+     */
+    private int[][] unreachedField() {
+        int[][] field = new int[board.numRows()][board.numCols()];
+        for (int[] row : field) {
+            Arrays.fill(row, UNREACHED);
+        }
+        return field;
+    }
+
+    /**
+     * @param p board position
+     * @return number of open positions next to p
+     */
+    private int openNeighbors(Point p) {
+        int count = 0;
+        for (int dir = 0; dir < ROW_STEP.length; dir++) {
+            if (board.isOpen(p.x + ROW_STEP[dir], p.y + COL_STEP[dir])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Expand one complete level of a frontier, noting the shortest length
+     * through any position the other frontier has already labelled.
+     *
+     * @param frontier positions labelled level - 1
+     * @param own distances labelled by this frontier
+     * @param other distances labelled by the opposite frontier
+     * @param level distance to give newly reached positions
+     * @return positions newly labelled with level
+     */
+    private ArrayList<Point> expand(ArrayList<Point> frontier, int[][] own, int[][] other, int level) {
+        ArrayList<Point> next = new ArrayList<Point>();
+        for (Point p : frontier) {
+            for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                int row = p.x + ROW_STEP[dir];
+                int col = p.y + COL_STEP[dir];
+                if (board.isOpen(row, col) && own[row][col] == UNREACHED) {
+                    own[row][col] = level;
+                    next.add(new Point(row, col));
+                    visited++;
+                    if (other[row][col] != UNREACHED) {
+                        int length = level + other[row][col] - 1;
+                        if (shortestLength == UNREACHED || length < shortestLength) {
+                            shortestLength = length;
+                        }
+                    }
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return number of traces in a shortest path, or DistanceField.UNREACHED
+     * if the components cannot be connected
+     */
+    public int shortestLength() {
+        return shortestLength;
+    }
+
+    /**
+     * @return number of board positions labelled by either frontier
+     */
+    public int visitedPositions() {
+        return visited;
+    }
+
+    /**
+     * Join the half paths through each position of the meeting layer into
+     * complete solutions.
+     *
+     * @return all shortest solutions
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        if (shortestLength == UNREACHED) {
+            return bestPaths;
+        }
+        //every position of a shortest path up to this step is labelled from the start,
+        //and every later one is labelled from the end
+        int meetStep = Math.max(1, shortestLength - endLevel + 1);
+        for (int row = 0; row < board.numRows(); row++) {
+            for (int col = 0; col < board.numCols(); col++) {
+                if (fromStart[row][col] != meetStep || fromEnd[row][col] != shortestLength - meetStep + 1) {
+                    continue;
+                }
+                Point meet = new Point(row, col);
+                ArrayList<Point[]> startHalves = descend(fromStart, meet);
+                ArrayList<Point[]> endHalves = descend(fromEnd, meet);
+                for (Point[] startHalf : startHalves) {
+                    for (Point[] endHalf : endHalves) {
+                        ArrayList<Point> path = new ArrayList<Point>(shortestLength);
+                        for (int i = startHalf.length - 1; i >= 0; i--) {
+                            path.add(startHalf[i]);
+                        }
+                        path.add(meet);
+                        path.addAll(Arrays.asList(endHalf));
+                        bestPaths.add(new TraceState(board, path));
+                    }
+                }
+            }
+        }
+        return bestPaths;
+    }
+
+    /**
+     * Enumerate every path from a position down a distance field to one of the
+     * positions adjacent to its component.
+     *
+     * @param field distances labelled by one frontier
+     * @param from position to descend from
+     * @return each path, excluding from, ordered toward the component
+     */
+    private ArrayList<Point[]> descend(int[][] field, Point from) {
+        ArrayList<Point[]> halves = new ArrayList<Point[]>();
+        int length = field[from.x][from.y] - 1;
+        Point[] half = new Point[length];
+        int[] nextDirection = new int[length + 1];
+        int depth = 0; //number of positions currently in half
+        while (depth >= 0) {
+            if (depth == length) {
+                halves.add(half.clone());
+                depth--;
+                continue;
+            }
+            Point p = (depth == 0 ? from : half[depth - 1]);
+            Point next = null;
+            while (next == null && nextDirection[depth] < ROW_STEP.length) {
+                int row = p.x + ROW_STEP[nextDirection[depth]];
+                int col = p.y + COL_STEP[nextDirection[depth]];
+                nextDirection[depth]++;
+                if (board.isOpen(row, col) && field[row][col] == length - depth) {
+                    next = new Point(row, col);
+                }
+            }
+            if (next == null) {
+                depth--;
+            } else {
+                half[depth] = next;
+                depth++;
+                nextDirection[depth] = 0;
+            }
+        }
+        return halves;
+    }
+} // class BidirectionalSearch
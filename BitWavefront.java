@@ -0,0 +1,134 @@
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Breadth-first search over a CircuitBoard held as one bitmap of long words
+ * per row, 64 positions to a word. The next level of the wave is the current
+ * frontier shifted one column left and right within each row and copied from
+ * the rows above and below, masked by the open positions and by those already
+ * reached, so a single word operation expands 64 positions at once. Only the
+ * bits that come out of a level are visited individually, to record their
+ * layer index in a DistanceField.
+ *
+ * @author Daylen Mathews
+ */
+public class BitWavefront {
+
+    private int rows;
+    private int cols;
+    private int words;
+    /**
+     * per row bitmaps: open positions, positions reached so far, the current
+     * frontier and the level being built
+     */
+    private long[][] open;
+    private long[][] reached;
+    private long[][] frontier;
+    private long[][] next;
+    private int[][] distance;
+
+    /**
+     * Label every open position reachable from source.
+     *
+     * @param board board to measure
+     * @param source position of the component to measure from
+     */
+    private BitWavefront(CircuitBoard board, Point source) {
+        rows = board.numRows();
+        cols = board.numCols();
+        words = (cols + 63) >>> 6;
+        open = new long[rows][words];
+        reached = new long[rows][words];
+        frontier = new long[rows][words];
+        next = new long[rows][words];
+        distance = new int[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            Arrays.fill(distance[row], DistanceField.UNREACHED);
+            for (int col = 0; col < cols; col++) {
+                if (board.isOpen(row, col)) {
+                    open[row][col >>> 6] |= 1L << col;
+                }
+            }
+        }
+        //the component itself starts the wave as level 0
+        frontier[source.x][source.y >>> 6] |= 1L << source.y;
+        int firstRow = source.x;
+        int lastRow = source.x;
+        for (int level = 1; firstRow <= lastRow; level++) {
+            int low = Math.max(0, firstRow - 1);
+            int high = Math.min(rows - 1, lastRow + 1);
+            firstRow = rows;
+            lastRow = -1;
+            for (int row = low; row <= high; row++) {
+                if (grow(row, level)) {
+                    firstRow = Math.min(firstRow, row);
+                    lastRow = row;
+                }
+            }
+            long[][] swap = frontier;
+            frontier = next;
+            next = swap;
+            for (int row = low; row <= high; row++) {
+                Arrays.fill(next[row], 0L);
+            }
+        }
+    }
+
+    /**
+     * Build the next level of the wave in one row and label its positions.
+     *
+     * @param row row to build
+     * @param level distance of the new level
+     * @return true if any position in the row was reached
+     */
+    private boolean grow(int row, int level) {
+        long[] here = frontier[row];
+        long[] above = (row > 0 ? frontier[row - 1] : null);
+        long[] below = (row < rows - 1 ? frontier[row + 1] : null);
+        boolean any = false;
+        for (int w = 0; w < words; w++) {
+            long wave = (here[w] << 1) | (here[w] >>> 1);
+            if (w > 0) {
+                wave |= here[w - 1] >>> 63;
+            }
+            if (w < words - 1) {
+                wave |= here[w + 1] << 63;
+            }
+            if (above != null) {
+                wave |= above[w];
+            }
+            if (below != null) {
+                wave |= below[w];
+            }
+            wave &= open[row][w] & ~reached[row][w];
+            if (wave != 0) {
+                any = true;
+                next[row][w] = wave;
+                reached[row][w] |= wave;
+                for (long bits = wave; bits != 0; bits &= bits - 1) {
+                    distance[row][(w << 6) + Long.numberOfTrailingZeros(bits)] = level;
+                }
+            }
+        }
+        return any;
+    }
+
+    /**
+     * @param board board to measure
+     * @return distances from the starting component '1'
+     */
+    public static DistanceField fromStart(CircuitBoard board) {
+        return new DistanceField(new BitWavefront(board, board.getStartingPoint()).distance,
+                board.getStartingPoint());
+    }
+
+    /**
+     * @param board board to measure
+     * @return distances from the ending component '2'
+     */
+    public static DistanceField fromEnd(CircuitBoard board) {
+        return new DistanceField(new BitWavefront(board, board.getEndingPoint()).distance,
+                board.getEndingPoint());
+    }
+} // class BitWavefront
@@ -0,0 +1,76 @@
+
+import java.util.Scanner;
+import java.util.function.IntPredicate;
+
+/**
+ * Reads the part of a board input file that CircuitBoard and MultiNetBoard
+ * share: a first line holding the number of rows and columns as positive
+ * ints, then one line per row of single characters separated by whitespace.
+ * Which characters may appear, and what follows the grid, is up to the
+ * board being read.
+ *
+ * @author Daylen Mathews
+ */
+public final class BoardFileReader {
+
+    private BoardFileReader() {
+    }
+
+    /**
+     * Read the dimensions line and the grid, leaving fileScan on the line
+     * after the last row.
+     *
+     * @param fileScan scanner at the start of the file
+     * @param filename name of the file, for error messages
+     * @param allowed characters that may appear in the grid
+     * @return the grid, one array of columns per row
+     * @throws InvalidFileFormatException if the dimensions line or any row is
+     * malformed or holds a character that is not allowed
+     */
+    public static char[][] readGrid(Scanner fileScan, String filename, IntPredicate allowed) {
+        if (!fileScan.hasNextLine()) {
+            throw new InvalidFileFormatException(filename + " is empty.");
+        }
+        Scanner firstLineScan = new Scanner(fileScan.nextLine());
+        if (!firstLineScan.hasNextInt()) {
+            throw new InvalidFileFormatException(filename + " first value is not an integer.");
+        }
+        int rows = firstLineScan.nextInt();
+        if (!firstLineScan.hasNextInt()) {
+            throw new InvalidFileFormatException(filename + " second value is not an integer.");
+        }
+        int cols = firstLineScan.nextInt();
+        if (firstLineScan.hasNext() || rows < 1 || cols < 1) {
+            throw new InvalidFileFormatException(filename + " first line must hold two positive integers.");
+        }
+
+        char[][] grid = new char[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            if (!fileScan.hasNextLine()) {
+                throw new InvalidFileFormatException(
+                        String.format("%s: does not contain %d rows.", filename, rows));
+            }
+            Scanner lineScan = new Scanner(fileScan.nextLine());
+            for (int col = 0; col < cols; col++) {
+                if (!lineScan.hasNext()) {
+                    throw new InvalidFileFormatException(
+                            String.format("%s: row %d does not contain %d columns.", filename, row, cols));
+                }
+                String value = lineScan.next();
+                if (value.length() != 1) {
+                    throw new InvalidFileFormatException(String
+                            .format("%s: row %d column %d contains more than one character.", filename, row, col));
+                }
+                if (!allowed.test(value.charAt(0))) {
+                    throw new InvalidFileFormatException(
+                            String.format("%s: row %d column %d is not a valid position.", filename, row, col));
+                }
+                grid[row][col] = value.charAt(0);
+            }
+            if (lineScan.hasNext()) {
+                throw new InvalidFileFormatException(filename + " contains more than " + cols + " columns.");
+            }
+        }
+        return grid;
+    }
+} // class BoardFileReader
@@ -13,17 +13,26 @@ import java.util.Scanner;
 public class CircuitBoard {
 
     /**
-     * current contents of the board
+     * current contents of the board as bitplanes over the positions numbered
+     * row * COLS + col: blocked holds every 'X' and both components, which no
+     * trace may enter, and traced holds every 'T'; an open position is in
+     * neither
      */
-    private char[][] board;
+    private long[] blocked;
+    private long[] traced;
     /**
-     * location of row,col for '1'
+     * cost of routing a trace through each position, null if every open
+     * position costs 1; never modified after construction, so copies share it
      */
-    private Point startingPoint;
+    private int[][] cost;
     /**
-     * location of row,col for '2'
+     * location of '1' as row * COLS + col
      */
-    private Point endingPoint;
+    private int startingPoint = NONE;
+    /**
+     * location of '2' as row * COLS + col
+     */
+    private int endingPoint = NONE;
 
     //constants you may find useful
     private final int ROWS; //initialized in constructor
@@ -34,6 +43,12 @@ public class CircuitBoard {
     private static final char START = '1';	//the starting component
     private static final char END = '2';	//the ending component
     private final String ALLOWED_CHARS = "OXT12"; //useful for validating with indexOf
+    private static final int NONE = -1; //component location not yet read
+    private static final String COST_LAYER = "costs"; //line introducing the optional cost layer
+    /**
+     * largest cost a single position may have
+     */
+    public static final int MAX_COST = 99;
 
     /**
      * Construct a CircuitBoard from a given board input file, where the first
@@ -45,6 +60,12 @@ public class CircuitBoard {
      * in input files - represents part of the trace connecting components 1 and
      * 2 in the solution
      *
+     * The grid may be followed by a line reading "costs" and then another
+     * ROWS lines of COLS integers from 1 to MAX_COST, giving the cost of
+     * routing a trace through each position. Costs given for positions that
+     * are not open are ignored. Without this layer every open position costs
+     * 1.
+     *
      * @param filename file containing a grid of characters
      * @throws FileNotFoundException if Scanner cannot open or read the file
      * @throws InvalidFileFormatException for any file formatting or content
@@ -52,100 +73,82 @@ public class CircuitBoard {
      */
     public CircuitBoard(String filename) throws FileNotFoundException {
         Scanner fileScan = new Scanner(new File(filename));
-
-        //TODO: parse the given file to populate the char[][]
-        // throw FileNotFoundException if Scanner cannot read the file
-        // throw InvalidFileFormatException if any issues are encountered while parsing the file
-        //replace with initialization statements using values from file
-        String firstLine = fileScan.nextLine();
-        Scanner firstLineScan = new Scanner(firstLine);
-
-        if (!firstLineScan.hasNextInt()) {
-            throw new InvalidFileFormatException(filename + " first value is not an integer.");
-        }
-        ROWS = firstLineScan.nextInt();
-        if (!firstLineScan.hasNextInt()) {
-            throw new InvalidFileFormatException(filename + " second value is not an integer.");
-        }
-        COLS = firstLineScan.nextInt();
-        board = new char[ROWS][COLS];
-
-        int oneCount = 0;
-        int twoCount = 0;
-
-        for (int i = 0; i < ROWS; i++) { // i rows
-            if (!fileScan.hasNext()) {
-                firstLineScan.close();
-                fileScan.close();
-                throw new InvalidFileFormatException(
-                        String.format("%s: row %d does not contain %d rows.", filename, i, ROWS));
-            }
-
-            String line = fileScan.nextLine();
-            Scanner lineScanner = new Scanner(line);
-            for (int k = 0; k < COLS; k++) {
-                if (!lineScanner.hasNext()) {
-                    lineScanner.close();
-                    fileScan.close();
-                    throw new InvalidFileFormatException(
-                            String.format("%s: row %d does not contain %d columns.", filename, i, COLS));
-                }
-
-                String columnValue = lineScanner.next();
-                {
-                    if (columnValue.length() != 1) {
-                        lineScanner.close();
-                        fileScan.close();
-                        throw new InvalidFileFormatException(String
-                                .format("%s: row %d column %d contains more than one character.", filename, i, k));
-                    }
-                    char colVal = columnValue.charAt(0);
+        try {
+            char[][] contents = BoardFileReader.readGrid(fileScan, filename, c -> ALLOWED_CHARS.indexOf(c) != -1);
+            ROWS = contents.length;
+            COLS = contents[0].length;
+            blocked = new long[(ROWS * COLS + 63) >>> 6];
+            traced = new long[blocked.length];
+            for (int i = 0; i < ROWS; i++) {
+                for (int k = 0; k < COLS; k++) {
+                    char colVal = contents[i][k];
                     if (colVal == START) {
-                        if (startingPoint != null) {
-                            fileScan.close();
-                            lineScanner.close();
+                        if (startingPoint != NONE) {
                             throw new InvalidFileFormatException(filename + " contains more than one start point.");
                         }
-                        startingPoint = new Point(i, k);
-                        oneCount++;
+                        startingPoint = i * COLS + k;
                     } else if (colVal == END) {
-                        if (endingPoint != null) {
-                            fileScan.close();
-                            lineScanner.close();
+                        if (endingPoint != NONE) {
                             throw new InvalidFileFormatException(filename + " contains more than one end point.");
                         }
-                        endingPoint = new Point(i, k);
-                        twoCount++;
+                        endingPoint = i * COLS + k;
                     }
-                    if (ALLOWED_CHARS.indexOf(colVal) == -1) {
-                        fileScan.close();
-                        lineScanner.close();
-                        throw new InvalidFileFormatException(filename + " contains invalid characters.");
+                    place(i, k, colVal);
+                }
+            }
+            if (startingPoint == NONE || endingPoint == NONE) {
+                throw new InvalidFileFormatException(filename + " does not contain a start or end point.");
+            }
+            if (fileScan.hasNext(COST_LAYER)) {
+                fileScan.next();
+                fileScan.nextLine();
+                cost = readCosts(fileScan, filename);
+            }
+            if (fileScan.hasNext()) {
+                throw new InvalidFileFormatException(filename + " contains more than " + ROWS + " rows.");
+            }
+        } finally {
+            fileScan.close();
+        }
+    }
 
-                    } else {
-                        board[i][k] = colVal;
-                    }
+    /**
+     * Read the cost layer that follows the "costs" line of an input file.
+     *
+     * @param fileScan scanner positioned after the "costs" line
+     * @param filename name of the file, for error messages
+     * @return cost of every position
+     * @throws InvalidFileFormatException if the layer is not ROWS lines of
+     * COLS integers from 1 to MAX_COST
+     */
+    private int[][] readCosts(Scanner fileScan, String filename) {
+        int[][] costs = new int[ROWS][COLS];
+        for (int i = 0; i < ROWS; i++) {
+            if (!fileScan.hasNextLine()) {
+                throw new InvalidFileFormatException(
+                        String.format("%s: cost layer does not contain %d rows.", filename, ROWS));
+            }
+            Scanner lineScanner = new Scanner(fileScan.nextLine());
+            for (int k = 0; k < COLS; k++) {
+                if (!lineScanner.hasNextInt()) {
+                    lineScanner.close();
+                    throw new InvalidFileFormatException(
+                            String.format("%s: cost row %d does not contain %d integers.", filename, i, COLS));
+                }
+                costs[i][k] = lineScanner.nextInt();
+                if (costs[i][k] < 1 || costs[i][k] > MAX_COST) {
+                    lineScanner.close();
+                    throw new InvalidFileFormatException(String.format(
+                            "%s: cost at row %d column %d is not between 1 and %d.", filename, i, k, MAX_COST));
                 }
             }
             if (lineScanner.hasNext()) {
                 lineScanner.close();
-                fileScan.close();
-                throw new InvalidFileFormatException(filename + " contains more than " + COLS + " columns.");
+                throw new InvalidFileFormatException(filename + " cost layer contains more than " + COLS + " columns.");
             }
-            lineScanner.close(); // close scanner
-        }
-        if (oneCount == 0 || twoCount == 0) {
-            firstLineScan.close();
-            fileScan.close();
-            throw new InvalidFileFormatException(filename + " does not contain a start or end point.");
+            lineScanner.close();
         }
-        if (fileScan.hasNext()) {
-            firstLineScan.close();
-            fileScan.close();
-            throw new InvalidFileFormatException(filename + " contains more than " + ROWS + " rows.");
-        }
-        firstLineScan.close();
-        fileScan.close();
+        return costs;
     }
 
     public void tracePath(CircuitBoard board, List<Point> path) {
@@ -154,32 +157,100 @@ public class CircuitBoard {
         }
     }
 
+    /**
+     * Mark a path given as packed row * numCols() + col positions.
+     */
+    public void tracePath(CircuitBoard board, int[] path) {
+        for (int cell : path) {
+            board.makeTrace(cell / board.COLS, cell % board.COLS);
+        }
+    }
+
     /**
      * Copy constructor - duplicates original board
      *
      * @param original board to copy
      */
     public CircuitBoard(CircuitBoard original) {
-        board = original.getBoard();
-        startingPoint = new Point(original.startingPoint);
-        endingPoint = new Point(original.endingPoint);
+        blocked = original.blocked.clone();
+        traced = original.traced.clone();
+        cost = original.cost;
+        startingPoint = original.startingPoint;
+        endingPoint = original.endingPoint;
         ROWS = original.numRows();
         COLS = original.numCols();
     }
 
     /**
-     * Utility method for copy constructor
+     * Construct a CircuitBoard directly from its contents, e.g. a region cut
+     * out of another board
+     *
+     * @param contents rectangular grid of 'O', 'X' and 'T' positions with
+     * exactly one '1' and one '2'
+     * @throws IllegalArgumentException if contents does not hold exactly one
+     * of each component
+     */
+    public CircuitBoard(char[][] contents) {
+        this(contents, null);
+    }
+
+    /**
+     * Construct a CircuitBoard directly from its contents and position costs
      *
-     * @return copy of board array
+     * @param contents rectangular grid of 'O', 'X' and 'T' positions with
+     * exactly one '1' and one '2'
+     * @param costs cost of each position, the same shape as contents, or
+     * null if every open position costs 1
+     * @throws IllegalArgumentException if contents does not hold exactly one
+     * of each component
      */
-    private char[][] getBoard() {
-        char[][] copy = new char[board.length][board[0].length];
-        for (int row = 0; row < board.length; row++) {
-            for (int col = 0; col < board[row].length; col++) {
-                copy[row][col] = board[row][col];
+    public CircuitBoard(char[][] contents, int[][] costs) {
+        cost = costs;
+        ROWS = contents.length;
+        COLS = contents[0].length;
+        blocked = new long[(ROWS * COLS + 63) >>> 6];
+        traced = new long[blocked.length];
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                if (ALLOWED_CHARS.indexOf(contents[row][col]) == -1) {
+                    throw new IllegalArgumentException("contents hold an invalid character.");
+                }
+                place(row, col, contents[row][col]);
+                if (contents[row][col] == START) {
+                    if (startingPoint != NONE) {
+                        throw new IllegalArgumentException("contents hold more than one start point.");
+                    }
+                    startingPoint = row * COLS + col;
+                } else if (contents[row][col] == END) {
+                    if (endingPoint != NONE) {
+                        throw new IllegalArgumentException("contents hold more than one end point.");
+                    }
+                    endingPoint = row * COLS + col;
+                }
             }
         }
-        return copy;
+        if (startingPoint == NONE || endingPoint == NONE) {
+            throw new IllegalArgumentException("contents do not hold a start or end point.");
+        }
+    }
+
+    /**
+     * Utility method for constructors: record one position read as c
+     */
+    private void place(int row, int col, char c) {
+        int index = row * COLS + col;
+        if (c == TRACE) {
+            traced[index >>> 6] |= 1L << index;
+        } else if (c != OPEN) {
+            blocked[index >>> 6] |= 1L << index;
+        }
+    }
+
+    /**
+     * @return true if bit index of plane is set
+     */
+    private static boolean isSet(long[] plane, int index) {
+        return (plane[index >>> 6] & (1L << index)) != 0;
     }
 
     /**
@@ -190,7 +261,20 @@ public class CircuitBoard {
      * @return char at row, col
      */
     public char charAt(int row, int col) {
-        return board[row][col];
+        if (row < 0 || row >= ROWS || col < 0 || col >= COLS) {
+            throw new ArrayIndexOutOfBoundsException("row " + row + ", col " + col + " is off the board");
+        }
+        int index = row * COLS + col;
+        if (index == startingPoint) {
+            return START;
+        } else if (index == endingPoint) {
+            return END;
+        } else if (isSet(blocked, index)) {
+            return CLOSED;
+        } else if (isSet(traced, index)) {
+            return TRACE;
+        }
+        return OPEN;
     }
 
     /**
@@ -201,10 +285,11 @@ public class CircuitBoard {
      * @return true if position at (row, col) is open
      */
     public boolean isOpen(int row, int col) {
-        if (row < 0 || row >= board.length || col < 0 || col >= board[row].length) {
+        if (row < 0 || row >= ROWS || col < 0 || col >= COLS) {
             return false;
         }
-        return board[row][col] == OPEN;
+        int index = row * COLS + col;
+        return ((blocked[index >>> 6] | traced[index >>> 6]) & (1L << index)) == 0;
     }
 
     /**
@@ -216,24 +301,107 @@ public class CircuitBoard {
      */
     public void makeTrace(int row, int col) {
         if (isOpen(row, col)) {
-            board[row][col] = TRACE;
+            int index = row * COLS + col;
+            traced[index >>> 6] |= 1L << index;
         } else {
-            throw new OccupiedPositionException("row " + row + ", col " + col + "contains '" + board[row][col] + "'");
+            throw new OccupiedPositionException("row " + row + ", col " + col + "contains '" + charAt(row, col) + "'");
         }
     }
 
+    /**
+     * Undo makeTrace: set given 'T' position back to 'O'
+     *
+     * @param row
+     * @param col
+     * @throws OccupiedPositionException if given position is not a 'T'
+     */
+    public void unmakeTrace(int row, int col) {
+        char c = charAt(row, col);
+        if (c == TRACE) {
+            int index = row * COLS + col;
+            traced[index >>> 6] &= ~(1L << index);
+        } else {
+            throw new OccupiedPositionException("row " + row + ", col " + col + "contains '" + c + "'");
+        }
+    }
+
+    /**
+     * Set given position to be an 'X'
+     *
+     * @param row
+     * @param col
+     * @throws OccupiedPositionException if given position is not open
+     */
+    public void makeBlocked(int row, int col) {
+        if (isOpen(row, col)) {
+            int index = row * COLS + col;
+            blocked[index >>> 6] |= 1L << index;
+        } else {
+            throw new OccupiedPositionException("row " + row + ", col " + col + "contains '" + charAt(row, col) + "'");
+        }
+    }
+
+    /**
+     * Set given position to be an 'O'. Positions that are already open are
+     * left alone.
+     *
+     * @param row
+     * @param col
+     * @throws OccupiedPositionException if given position holds a component or
+     * a trace
+     */
+    public void makeOpen(int row, int col) {
+        char c = charAt(row, col);
+        if (c == CLOSED) {
+            int index = row * COLS + col;
+            blocked[index >>> 6] &= ~(1L << index);
+        } else if (c != OPEN) {
+            throw new OccupiedPositionException("row " + row + ", col " + col + "contains '" + c + "'");
+        }
+    }
+
+    /**
+     * @param row
+     * @param col
+     * @return cost of routing a trace through (row, col)
+     */
+    public int costAt(int row, int col) {
+        return (cost == null ? 1 : cost[row][col]);
+    }
+
+    /**
+     * @return true if the board was given a cost layer
+     */
+    public boolean hasCosts() {
+        return cost != null;
+    }
+
     /**
      * @return starting Point(row,col)
      */
     public Point getStartingPoint() {
-        return new Point(startingPoint);
+        return new Point(startingPoint / COLS, startingPoint % COLS);
     }
 
     /**
      * @return ending Point(row,col)
      */
     public Point getEndingPoint() {
-        return new Point(endingPoint);
+        return new Point(endingPoint / COLS, endingPoint % COLS);
+    }
+
+    /**
+     * @return position of '1' as row * numCols() + col
+     */
+    public int getStartingIndex() {
+        return startingPoint;
+    }
+
+    /**
+     * @return position of '2' as row * numCols() + col
+     */
+    public int getEndingIndex() {
+        return endingPoint;
     }
 
     /**
@@ -254,14 +422,14 @@ public class CircuitBoard {
      * Get the start point as row, col coordinates.
      */
     public boolean isStart(int row, int col) {
-        return startingPoint.x == row && startingPoint.y == col;
+        return col >= 0 && col < COLS && row * COLS + col == startingPoint;
     }
 
     /**
      * Get the end point as row, col coordinates.
      */
     public boolean isEnd(int row, int col) {
-        return endingPoint.x == row && endingPoint.y == col;
+        return col >= 0 && col < COLS && row * COLS + col == endingPoint;
     }
 
     /* (non-Javadoc)
@@ -269,9 +437,9 @@ public class CircuitBoard {
      */
     public String toString() {
         StringBuilder str = new StringBuilder();
-        for (int row = 0; row < board.length; row++) {
-            for (int col = 0; col < board[row].length; col++) {
-                str.append(board[row][col] + " ");
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                str.append(charAt(row, col) + " ");
             }
             str.append("\n");
         }
@@ -1,6 +1,8 @@
 
+import java.awt.Point;
 import java.io.FileNotFoundException;
 import java.util.ArrayList;
+import java.util.Comparator;
 
 /**
  * Search for shortest paths between start and end points on a circuit board as
@@ -24,13 +26,41 @@ public class CircuitTracer {
     }
     private ArrayList<CircuitBoard> solvedBoards;
 
+    /**
+     * A* ordering for priority storage: fewest traces any solution through the
+     * state could need, and among equals the longer path since it is closer to
+     * the end
+     */
+    private static final Comparator<TraceState> BEST_FIRST = Comparator
+            .comparingInt(TraceState::minSolutionLength)
+            .thenComparing(Comparator.comparingInt(TraceState::pathLength).reversed());
+
     /**
      * Print instructions for running CircuitTracer from the command line.
      */
     private void printUsage() {
         System.out.println("Usage: java CircuitTracer stroageChoice displayChoice inputFile \n");
-        System.out.println("\twhere storageChoice is either -s for a stack or -q for a queue, \n");
+        System.out.println("\twhere storageChoice is either -s for a stack, -q for a queue, \n");
+        System.out.println("\tor -p for a priority queue ordered by path length plus distance to the end (A*),");
+        System.out.println("\tor -b for an approximate beam search keeping the " + BeamSearch.DEFAULT_WIDTH
+                + " states nearest the end per step (-bW keeps W),");
+        System.out.println("\tor one of these search engines in place of storage:");
+        System.out.println("\t  -layered        enumerate shortest paths from breadth-first distance layers");
+        System.out.println("\t  -bidirectional  search from both components until the searches meet");
+        System.out.println("\t  -corridor       search a graph of junctions with corridors contracted to edges");
+        System.out.println("\t  -parallel       depth-first search split across all cores");
+        System.out.println("\t  -steal          -s run by all cores, each with its own deque and stealing when idle");
+        System.out.println("\t  -sharedq        -q run by all cores through one lock-free queue");
+        System.out.println("\t  -arena          -q with each state packed into 4 bytes outside the Java heap;");
+        System.out.println("\t                  every state created is kept until the search ends");
+        System.out.println("\t  -iddfs          iterative-deepening depth-first search holding only the current path");
+        System.out.println("\t  -weighted       cheapest traces by the board's position costs (other choices ignore costs)");
+        System.out.println("\t  -wavefront      -layered with distance layers computed by all cores");
+        System.out.println("\t  -bitwise        -layered with distance layers computed 64 positions at a time");
+        System.out.println("\t  -multinet       route every labelled net of a multi-net board (-c or -l only)\n");
         System.out.println("\tdisplayChoice is either -c for console-only output or -g for GUI output,\n");
+        System.out.println("\tor -l to print only the shortest trace length (-1 if there is none)");
+        System.out.println("\tor -n to print only the number of shortest traces,\n");
         System.out.println("\tand inputFile is the name of a file containing a layout to complete.");
 
     }
@@ -53,30 +83,55 @@ public class CircuitTracer {
             return; //exit the constructor immediately
         }
 
-        if (!args[1].equals("-c") && !args[1].equals("-g")) {
-            System.out.println("Error: Invalid display choice. Use -c for console or -g for GUI.");
-            printUsage();
-            return;
-        }
-        if (!args[0].equals("-s") && !args[0].equals("-q")) {
-            System.out.println("Error: Invalid storage choice. Use -s for stack or -q for queue.");
+        if (!args[1].equals("-c") && !args[1].equals("-g") && !args[1].equals("-l") && !args[1].equals("-n")) {
+            System.out.println("Error: Invalid display choice. Use -c for console, -g for GUI, -l or -n.");
             printUsage();
             return;
         }
         Storage<TraceState> stateStore = null;
 
-        switch (args[0]) {
-            case "-s":
-                stateStore = Storage.getStackInstance();
-                break;
+        //-b takes an optional beam width straight after the flag, e.g. -b500
+        String searchChoice = args[0];
+        int beamWidth = BeamSearch.DEFAULT_WIDTH;
+        if (searchChoice.matches("-b[1-9][0-9]{0,8}")) {
+            beamWidth = Integer.parseInt(searchChoice.substring(2));
+            searchChoice = "-b";
+        }
+
+        switch (searchChoice) {
             case "-q":
                 stateStore = Storage.getQueueInstance();
                 break;
+            case "-p":
+                stateStore = Storage.getPriorityInstance(BEST_FIRST);
+                break;
+            case "-s":
+            case "-arena":
+            case "-b":
+            case "-layered":
+            case "-bidirectional":
+            case "-corridor":
+            case "-multinet":
+            case "-parallel":
+            case "-steal":
+            case "-sharedq":
+            case "-iddfs":
+            case "-weighted":
+            case "-wavefront":
+            case "-bitwise":
+                break; //engines that manage their own search states, -s searching one board in place
             default:
+                System.out.println("Error: Invalid storage choice. Use -s for stack, -q for queue, or -p for priority.");
                 printUsage();
                 return;
         }
 
+        //multi-net boards have their own format and router
+        if (searchChoice.equals("-multinet")) {
+            routeNets(args[1], args[2]);
+            return;
+        }
+
         try {
             board = new CircuitBoard(args[2]);
         } catch (FileNotFoundException e) {
@@ -92,10 +147,242 @@ public class CircuitTracer {
             return;
         }
 
+        //search a copy cut down to the positions a trace can actually use
+        ReachabilityFilter filter = new ReachabilityFilter(board);
+        CircuitBoard workingBoard = filter.getWorkingBoard();
+
+        //length and count queries come straight from the distance layers, whatever the search choice,
+        //except that -weighted reports the cost and number of the cheapest traces
+        switch (args[1]) {
+            case "-l":
+                if (!filter.isConnectable()) {
+                    System.out.println(DistanceField.UNREACHED);
+                } else if (searchChoice.equals("-weighted")) {
+                    System.out.println(new WeightedSearch(workingBoard).minimumCost());
+                } else {
+                    System.out.println(layeredSearch(searchChoice, workingBoard).shortestLength());
+                }
+                return;
+            case "-n":
+                if (!filter.isConnectable()) {
+                    System.out.println(0);
+                } else if (searchChoice.equals("-weighted")) {
+                    System.out.println(new WeightedSearch(workingBoard).countCheapestPaths());
+                } else {
+                    System.out.println(layeredSearch(searchChoice, workingBoard).countShortestPaths());
+                }
+                return;
+        }
+
+        //layered engines know the shortest length up front, so console output streams each
+        //solution as it is found instead of collecting them all first
+        if (args[1].equals("-c") && isLayeredChoice(searchChoice)) {
+            if (filter.isConnectable()) {
+                layeredSearch(searchChoice, workingBoard).stream()
+                        .forEach(solved -> System.out.println(filter.restore(solved).toString()));
+            }
+            return;
+        }
+
+        ArrayList<TraceState> bestPaths;
+        BeamSearch beam = null;
+        if (!filter.isConnectable()) {
+            bestPaths = new ArrayList<>(); //no trace can reach '2', nothing to search
+        } else {
+            switch (searchChoice) {
+                case "-layered":
+                case "-wavefront":
+                case "-bitwise":
+                    bestPaths = layeredSearch(searchChoice, workingBoard).findBestPaths();
+                    break;
+                case "-bidirectional":
+                    bestPaths = new BidirectionalSearch(workingBoard).findBestPaths();
+                    break;
+                case "-corridor":
+                    bestPaths = new CorridorSearch(workingBoard).findBestPaths();
+                    break;
+                case "-parallel":
+                    bestPaths = new ParallelSearch(workingBoard).findBestPaths();
+                    break;
+                case "-s":
+                    bestPaths = new InPlaceSearch(workingBoard).findBestPaths();
+                    break;
+                case "-steal":
+                    bestPaths = new ConcurrentSearch(workingBoard, ConcurrentStorage.getWorkStealingInstance(),
+                            Runtime.getRuntime().availableProcessors()).findBestPaths();
+                    break;
+                case "-sharedq":
+                    bestPaths = new ConcurrentSearch(workingBoard, ConcurrentStorage.getSharedQueueInstance(),
+                            Runtime.getRuntime().availableProcessors()).findBestPaths();
+                    break;
+                case "-arena":
+                    //past a quarter of the heap the frontier, and past half of it the arena, spill to
+                    //the temporary directory
+                    long heap = Runtime.getRuntime().maxMemory();
+                    IntStorage frontier = IntStorage.getSpillingInstance(false,
+                            (int) Math.min(Integer.MAX_VALUE, heap / 4 / Integer.BYTES), null);
+                    bestPaths = new ArenaSearch(workingBoard, frontier, new FrontierArena(heap / 2, null))
+                            .findBestPaths();
+                    break;
+                case "-iddfs":
+                    bestPaths = new IterativeDeepeningSearch(workingBoard).findBestPaths();
+                    break;
+                case "-weighted":
+                    bestPaths = new WeightedSearch(workingBoard).findBestPaths();
+                    break;
+                case "-b":
+                    beam = new BeamSearch(workingBoard, beamWidth);
+                    bestPaths = beam.findBestPaths();
+                    break;
+                case "-p":
+                    bestPaths = findBestPaths(workingBoard, stateStore, true);
+                    break;
+                default:
+                    bestPaths = findBestPaths(workingBoard, stateStore, false);
+            }
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "-c":
+                for (TraceState path : bestPaths) {
+                    System.out.println(filter.restore(path.getBoard()).toString());
+                }
+                if (beam != null) {
+                    System.out.println(beam.summary());
+                }
+                break;
+            case "-g":
+                ArrayList<CircuitBoard> solvedBoards = new ArrayList<>();
+                for (TraceState path : bestPaths) {
+                    CircuitBoard solvedBoard = filter.restore(path.getBoard()); //get solved board from TraceState
+                    solvedBoards.add(solvedBoard); //add it to the solvedBoards list
+                }
+                if (beam != null) {
+                    System.out.println(beam.summary()); //the GUI has nowhere to show how close the beam came
+                }
+                new CircuitTracerGUI(board, solvedBoards); //pass unsolved board and solved boards to GUI
+                break;
+            default:
+                printUsage();
+                return;
+        }
+    }
+
+    /**
+     * @param searchChoice first command line argument
+     * @return true if searchChoice selects a LayeredSearch
+     */
+    private static boolean isLayeredChoice(String searchChoice) {
+        return searchChoice.equals("-layered") || searchChoice.equals("-wavefront")
+                || searchChoice.equals("-bitwise");
+    }
+
+    /**
+     * Read a multi-net board and route all of its nets in this one run,
+     * printing each net's trace and the routed board for -c, or each net's
+     * label and trace length (-1 if it has none) for -l.
+     *
+     * @param displayChoice second command line argument
+     * @param fileName multi-net input file
+     */
+    private void routeNets(String displayChoice, String fileName) {
+        if (!displayChoice.equals("-c") && !displayChoice.equals("-l")) {
+            System.out.println("Error: -multinet supports -c and -l display only.");
+            printUsage();
+            return;
+        }
+        MultiNetBoard board;
+        try {
+            board = new MultiNetBoard(fileName);
+        } catch (FileNotFoundException e) {
+            System.out.println(e + " File is not in the correct format.");
+            return;
+        } catch (Exception e) {
+            System.out.println("Error: Unable to read the input file. Ensure it follows the correct format.");
+            return;
+        }
+        NetRouter router = new NetRouter(board);
+        if (displayChoice.equals("-l")) {
+            for (int net = 0; net < board.netCount(); net++) {
+                ArrayList<Point> trace = router.getTrace(net);
+                System.out.println(board.getNet(net).getLabel() + " "
+                        + (trace == null ? DistanceField.UNREACHED : trace.size()));
+            }
+            return;
+        }
+        System.out.print(router.report());
+        if (!router.isRouted()) {
+            System.out.println("Unable to route every net without sharing positions after "
+                    + router.passes() + " passes.");
+        }
+        System.out.println(router.toString());
+    }
+
+    /**
+     * Label the board's distance layers with the wavefront matching the search
+     * choice: all cores for -wavefront, word-parallel bitmaps for -bitwise, and
+     * a sequential breadth-first search otherwise.
+     *
+     * @param searchChoice first command line argument
+     * @param board board to search
+     * @return layered search over board
+     */
+    private static LayeredSearch layeredSearch(String searchChoice, CircuitBoard board) {
+        switch (searchChoice) {
+            case "-wavefront":
+                int cores = Runtime.getRuntime().availableProcessors();
+                return new LayeredSearch(board, ParallelWavefront.fromStart(board, cores),
+                        ParallelWavefront.fromEnd(board, cores));
+            case "-bitwise":
+                return new LayeredSearch(board, BitWavefront.fromStart(board), BitWavefront.fromEnd(board));
+            default:
+                return new LayeredSearch(board);
+        }
+    }
+
+    /**
+     * Search for all shortest paths connecting the start and end components of
+     * the given board, exploring states in the order imposed by stateStore.
+     * States whose path length plus remaining Manhattan distance already
+     * exceeds the best solution length found so far are discarded, since they
+     * can never tie it. When stateStore retrieves states in order of
+     * TraceState.minSolutionLength(), the first such state ends the search,
+     * since every state still stored is at least as far from tying. States
+     * are recycled through a TraceStatePool once they have been retrieved and
+     * expanded or discarded, as are solutions a shorter one replaces.
+     *
+     * @param board board to search
+     * @param stateStore empty Storage determining the search order
+     * @param boundOrdered true if stateStore retrieves in nondecreasing
+     * minSolutionLength() order
+     * @return all shortest solutions, in the order they were found
+     */
+    private static ArrayList<TraceState> findBestPaths(CircuitBoard board, Storage<TraceState> stateStore,
+            boolean boundOrdered) {
+        return findBestPaths(board, stateStore, boundOrdered, new TraceStatePool(board));
+    }
+
+    /**
+     * findBestPaths(board, stateStore, boundOrdered) recycling states through
+     * the given pool, which is left holding every state the search released.
+     *
+     * @param board board to search
+     * @param stateStore empty Storage determining the search order
+     * @param boundOrdered true if stateStore retrieves in nondecreasing
+     * minSolutionLength() order
+     * @param pool pool for board to obtain states from and release them to
+     * @return all shortest solutions, in the order they were found
+     */
+    static ArrayList<TraceState> findBestPaths(CircuitBoard board, Storage<TraceState> stateStore,
+            boolean boundOrdered, TraceStatePool pool) {
         ArrayList<TraceState> bestPaths = new ArrayList<>();
+        int bestLength = Integer.MAX_VALUE;
+        int cols = board.numCols();
+        int endRow = board.getEndingIndex() / cols;
+        int endCol = board.getEndingIndex() % cols;
 
-        int x = board.getStartingPoint().x;
-        int y = board.getStartingPoint().y;
+        int x = board.getStartingIndex() / cols;
+        int y = board.getStartingIndex() % cols;
 
         if (board.isOpen(x + 1, y)) {
             stateStore.store(new TraceState(board, x + 1, y)); //checks right
@@ -112,49 +399,61 @@ public class CircuitTracer {
         while (!stateStore.isEmpty()) {
             TraceState currentState = stateStore.retrieve();
 
+            if (currentState.minSolutionLength() > bestLength) {
+                if (boundOrdered) {
+                    break; //nothing left in storage can tie the best path
+                }
+                pool.release(currentState);
+                continue; //a shorter solution was found after this state was stored
+            }
             if (currentState.isSolution()) {
-                if (bestPaths.isEmpty() || currentState.pathLength() == bestPaths.get(0).pathLength()) {
+                if (bestPaths.isEmpty() || currentState.pathLength() == bestLength) {
                     bestPaths.add(currentState);
-                } else if (currentState.pathLength() < bestPaths.get(0).pathLength()) {
+                } else if (currentState.pathLength() < bestLength) {
+                    for (TraceState longer : bestPaths) {
+                        pool.release(longer);
+                    }
                     bestPaths.clear();
                     bestPaths.add(currentState);
                 }
+                bestLength = bestPaths.get(0).pathLength();
             } else {
                 x = currentState.getRow();
                 y = currentState.getCol();
+                int nextLength = currentState.pathLength() + 1;
 
-                if (currentState.isOpen(x - 1, y)) {
-                    stateStore.store(new TraceState(currentState, x - 1, y));
+                if (currentState.isOpen(x - 1, y) && canTie(nextLength, x - 1, y, endRow, endCol, bestLength)) {
+                    stateStore.store(pool.obtain(currentState, x - 1, y));
                 }
-                if (currentState.isOpen(x + 1, y)) {
-                    stateStore.store(new TraceState(currentState, x + 1, y));
+                if (currentState.isOpen(x + 1, y) && canTie(nextLength, x + 1, y, endRow, endCol, bestLength)) {
+                    stateStore.store(pool.obtain(currentState, x + 1, y));
                 }
-                if (currentState.isOpen(x, y - 1)) {
-                    stateStore.store(new TraceState(currentState, x, y - 1));
+                if (currentState.isOpen(x, y - 1) && canTie(nextLength, x, y - 1, endRow, endCol, bestLength)) {
+                    stateStore.store(pool.obtain(currentState, x, y - 1));
                 }
-                if (currentState.isOpen(x, y + 1)) {
-                    stateStore.store(new TraceState(currentState, x, y + 1));
+                if (currentState.isOpen(x, y + 1) && canTie(nextLength, x, y + 1, endRow, endCol, bestLength)) {
+                    stateStore.store(pool.obtain(currentState, x, y + 1));
                 }
+                pool.release(currentState);
             }
         }
-        switch (args[1].toLowerCase()) {
-            case "-c":
-                for (TraceState path : bestPaths) {
-                    System.out.println(path.getBoard().toString());
-                }
-                break;
-            case "-g":
-                ArrayList<CircuitBoard> solvedBoards = new ArrayList<>();
-                for (TraceState path : bestPaths) {
-                    CircuitBoard solvedBoard = path.getBoard(); //get solved board from TraceState
-                    solvedBoards.add(solvedBoard); //add it to the solvedBoards list
-                }
-                new CircuitTracerGUI(board, solvedBoards); //pass unsolved board and solved boards to GUI
-                break;
-            default:
-                printUsage();
-                return;
-        }
+        return bestPaths;
+    }
+
+    /**
+     * Check a prospective state before paying for its board copy.
+     *
+     * @param length path length of the prospective state
+     * @param row row of its last trace
+     * @param col column of its last trace
+     * @param endRow row of the ending component
+     * @param endCol column of the ending component
+     * @param bestLength length of the best solution found so far
+     * @return true if a solution through (row, col) could still tie bestLength
+     * @see TraceState#minSolutionLength()
+     */
+    private static boolean canTie(int length, int row, int col, int endRow, int endCol, int bestLength) {
+        return length + Math.abs(row - endRow) + Math.abs(col - endCol) - 1 <= bestLength;
     }
 }
 // class CircuitTracer
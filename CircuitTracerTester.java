@@ -1,13 +1,26 @@
 
+import java.awt.Point;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Scanner;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A unit test class for CircuitTracer and CircuitBoard.
@@ -33,15 +46,29 @@ public class CircuitTracerTester {
     // command line arguments for CircuitTracer
     private static final String STACK = "-s";
     private static final String QUEUE = "-q";
+    private static final String PRIORITY = "-p";
+    private static final String LAYERED = "-layered";
+    private static final String BIDIRECTIONAL = "-bidirectional";
+    private static final String CORRIDOR = "-corridor";
+    private static final String PARALLEL = "-parallel";
+    private static final String ITERATIVE_DEEPENING = "-iddfs";
+    private static final String ARENA = "-arena";
+    private static final String WORK_STEALING = "-steal";
+    private static final String SHARED_QUEUE = "-sharedq";
+    private static final String WEIGHTED = "-weighted";
+    private static final String WAVEFRONT = "-wavefront";
+    private static final String BITWISE = "-bitwise";
     private static final String CONSOLE = "-c";
     private static final String GUI = "-g";
+    private static final String LENGTH = "-l";
+    private static final String COUNT = "-n";
     private static final String INVALID_OPTION = "-z";
 
     // bogus file name
     private static final String NO_SUCH = "noSuchFile";
 
     // tracking number of tests and test results
-    private final int EXPECTED_TOTAL_TESTS = 86;
+    private final int EXPECTED_TOTAL_TESTS = 261;
     private int totalTests;
     private int passes = 0;
     private int failures = 0;
@@ -174,6 +201,8 @@ public class CircuitTracerTester {
                     testCircuitBoard(INVALID_11_FILENAME, INVALID_11, Result.InvalidFileFormat));
             printTest("CircuitBoard(\"" + INVALID_12_FILENAME + "\")",
                     testCircuitBoard(INVALID_12_FILENAME, INVALID_12, Result.InvalidFileFormat));
+            // bitplanes spanning several words
+            printTest("CircuitBoard(3x70 corridor) bitplanes", testCircuitBoardBitplanes());
         } catch (Exception e) {
             System.out.printf("***UNABLE TO RUN/COMPLETE CIRCUITBOARD TESTS\n");
             e.printStackTrace();
@@ -227,11 +256,455 @@ public class CircuitTracerTester {
                     testCircuitTracerValidFile(STACK, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
             printTest("CircuitTracer({\"-q\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
                     testCircuitTracerValidFile(QUEUE, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PRIORITY, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-layered\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(LAYERED, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-bidirectional\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-corridor\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(CORRIDOR, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-parallel\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-iddfs\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ITERATIVE_DEEPENING, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-arena\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(ARENA, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-steal\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WORK_STEALING, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-sharedq\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(SHARED_QUEUE, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-weighted\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-wavefront\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(WAVEFRONT, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("CircuitTracer({\"-bitwise\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+                    testCircuitTracerValidFile(BITWISE, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
         } catch (Exception e) {
             System.out.printf("***UNABLE TO RUN/COMPLETE CIRCUITTRACER TESTS ON VALID INPUT FILES\n");
             e.printStackTrace();
         }
 
+        System.out.println("**************************************");
+        System.out.println("CircuitTracer Length and Count Tests");
+        System.out.println("**************************************\n");
+        try {
+            printTest("java CircuitTracer -q -l " + VALID_1_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_1_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_2_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_2_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_3_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_3_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_4_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_4_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_5_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_5_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_6_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_6_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_7_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_7_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_8_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_8_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_9_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_9_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+            printTest("java CircuitTracer -q -l " + VALID_10_FILENAME,
+                    testCircuitTracerQuery(QUEUE, LENGTH, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+            printTest("java CircuitTracer -q -n " + VALID_10_FILENAME,
+                    testCircuitTracerQuery(QUEUE, COUNT, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE CIRCUITTRACER LENGTH AND COUNT TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("Layered Stream Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("LayeredSearch(" + VALID_7_FILENAME + ").stream().limit(2)",
+                    testLayeredStream(VALID_7_FILENAME, VALID_7_SOLUTIONS, 2));
+            printTest("LayeredSearch(" + VALID_7_FILENAME + ").stream().limit(10)",
+                    testLayeredStream(VALID_7_FILENAME, VALID_7_SOLUTIONS, 10));
+            printTest("LayeredSearch(" + VALID_1_FILENAME + ").stream().limit(0)",
+                    testLayeredStream(VALID_1_FILENAME, VALID_1_SOLUTIONS, 0));
+            printTest("LayeredSearch(" + VALID_10_FILENAME + ").stream().limit(3)",
+                    testLayeredStream(VALID_10_FILENAME, VALID_10_SOLUTIONS, 3));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE LAYERED STREAM TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("SolverSession Edit Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("SolverSession(" + VALID_2_FILENAME + ") edits",
+                    testSolverSession(VALID_2_FILENAME, new int[][]{{1, 0}, {1, 1}, {1, 0}, {1, 1}}));
+            printTest("SolverSession(" + VALID_7_FILENAME + ") edits",
+                    testSolverSession(VALID_7_FILENAME, new int[][]{{2, 1}, {2, 2}, {1, 2}, {3, 2}, {2, 2}, {2, 1}}));
+            printTest("SolverSession(" + VALID_8_FILENAME + ") edits",
+                    testSolverSession(VALID_8_FILENAME, new int[][]{{1, 2}, {9, 8}, {5, 4}, {1, 2}, {2, 1}, {0, 2}}));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE SOLVERSESSION TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("Multi-Net Routing Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("NetRouter(" + MULTINET_1_FILENAME + ")", testNetRouter(MULTINET_1_FILENAME, true));
+            printTest("NetRouter(" + MULTINET_2_FILENAME + ")", testNetRouter(MULTINET_2_FILENAME, false));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE MULTI-NET ROUTING TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("Corridor Search Tests");
+        System.out.println("*******************************\n");
+        try {
+            //'1', '2', the branch point and the dead end of the side corridor
+            printTest("CorridorSearch(corridor with a dead-end branch)", testCorridorSearch(new char[][]{
+                {'X', 'X', 'X', 'O', 'X', 'X', 'X'},
+                {'1', 'O', 'O', 'O', 'O', 'O', '2'},
+                {'X', 'X', 'X', 'X', 'X', 'X', 'X'}}, 4, 5, 1));
+            //every open position is a corridor cell, leaving two corridors from '1' to '2'
+            printTest("CorridorSearch(ring)", testCorridorSearch(new char[][]{
+                {'1', 'O', 'O'},
+                {'O', 'X', 'O'},
+                {'O', 'O', '2'}}, 2, 3, 2));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE CORRIDOR SEARCH TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("Beam Search Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("BeamSearch(" + VALID_1_FILENAME + ", " + BeamSearch.DEFAULT_WIDTH + ")",
+                    testBeamSearch(VALID_1_FILENAME, BeamSearch.DEFAULT_WIDTH, VALID_1_SOLUTIONS));
+            printTest("BeamSearch(" + VALID_3_FILENAME + ", " + BeamSearch.DEFAULT_WIDTH + ")",
+                    testBeamSearch(VALID_3_FILENAME, BeamSearch.DEFAULT_WIDTH, VALID_3_SOLUTIONS));
+            printTest("BeamSearch(" + VALID_5_FILENAME + ", " + BeamSearch.DEFAULT_WIDTH + ")",
+                    testBeamSearch(VALID_5_FILENAME, BeamSearch.DEFAULT_WIDTH, VALID_5_SOLUTIONS));
+            printTest("BeamSearch(" + VALID_7_FILENAME + ", " + BeamSearch.DEFAULT_WIDTH + ")",
+                    testBeamSearch(VALID_7_FILENAME, BeamSearch.DEFAULT_WIDTH, VALID_7_SOLUTIONS));
+            printTest("BeamSearch(" + VALID_10_FILENAME + ", " + BeamSearch.DEFAULT_WIDTH + ")",
+                    testBeamSearch(VALID_10_FILENAME, BeamSearch.DEFAULT_WIDTH, VALID_10_SOLUTIONS));
+            printTest("BeamSearch(" + VALID_8_FILENAME + ", 1)",
+                    testBeamSearch(VALID_8_FILENAME, 1, VALID_8_SOLUTIONS));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE BEAM SEARCH TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("Weighted Search Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("WeightedSearch(" + WEIGHTED_1_FILENAME + ")",
+                    testWeightedSearch(WEIGHTED_1_FILENAME, WEIGHTED_1_COST, WEIGHTED_1_COUNT));
+            printTest("WeightedSearch(" + VALID_7_FILENAME + ")", testWeightedSearch(VALID_7_FILENAME, 3, VALID_7_SOLUTIONS.length));
+            printTest("WeightedSearch(" + VALID_10_FILENAME + ")",
+                    testWeightedSearch(VALID_10_FILENAME, DistanceField.UNREACHED, 0));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE WEIGHTED SEARCH TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("TraceState Pool Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("TraceStatePool(" + VALID_1_FILENAME + ")",
+                    testTraceStatePool(VALID_1_FILENAME, VALID_1_SOLUTIONS, false));
+            printTest("TraceStatePool(" + VALID_7_FILENAME + ")",
+                    testTraceStatePool(VALID_7_FILENAME, VALID_7_SOLUTIONS, false));
+            printTest("TraceStatePool(" + VALID_7_FILENAME + ") stack",
+                    testTraceStatePool(VALID_7_FILENAME, VALID_7_SOLUTIONS, true));
+            printTest("TraceStatePool(" + VALID_10_FILENAME + ")",
+                    testTraceStatePool(VALID_10_FILENAME, VALID_10_SOLUTIONS, false));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE TRACESTATE POOL TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("IntStorage Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("IntStorage stack", testIntStorage(IntStorage.getStackInstance(), true));
+            printTest("IntStorage queue", testIntStorage(IntStorage.getQueueInstance(), false));
+            printTest("IndexFrontier(stack) spilling", testIntStorage(new IndexFrontier(true, 0, null), true));
+            printTest("IndexFrontier(queue) spilling", testIntStorage(new IndexFrontier(false, 0, null), false));
+            printTest("IndexFrontier(queue) spill file size", testIndexFrontierChurn());
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE INTSTORAGE TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("FrontierArena Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("FrontierArena spilling to a file", testFrontierArenaSpill());
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE FRONTIERARENA TESTS\n");
+            e.printStackTrace();
+        }
+
+        System.out.println("*******************************");
+        System.out.println("ConcurrentStorage Tests");
+        System.out.println("*******************************\n");
+        try {
+            printTest("WorkStealingStorage tree expansion",
+                    testConcurrentStorage(ConcurrentStorage.getWorkStealingInstance(), false));
+            printTest("SharedQueueStorage tree expansion",
+                    testConcurrentStorage(ConcurrentStorage.getSharedQueueInstance(), false));
+            printTest("WorkStealingStorage worker failure",
+                    testConcurrentStorage(ConcurrentStorage.getWorkStealingInstance(), true));
+            printTest("SharedQueueStorage worker failure",
+                    testConcurrentStorage(ConcurrentStorage.getSharedQueueInstance(), true));
+        } catch (Exception e) {
+            System.out.printf("***UNABLE TO RUN/COMPLETE CONCURRENTSTORAGE TESTS\n");
+            e.printStackTrace();
+        }
+
         System.out.println("**************************************");
         System.out.println("CircuitTracer Invalid Input File Tests");
         System.out.println("**************************************\n");
@@ -404,6 +877,76 @@ public class CircuitTracerTester {
         return result == expectedResult;
     }
 
+	/**
+	 * Build a 3x70 board whose middle row is a corridor from '1' to '2',
+	 * so its positions run across three 64-bit words of each bitplane.
+	 * Confirm every position reads back, isOpen() and edits flip only the
+	 * bit they should, a copy does not share planes with the original, and
+	 * InPlaceSearch, which traces and untraces the planes in place, finds
+	 * the corridor as the one shortest solution.
+	 *
+	 * @return true if test passes, else false
+	 */
+	private boolean testCircuitBoardBitplanes() {
+        totalTests += 1;
+        System.out.println("Testing CircuitBoard(3x70 corridor) bitplanes");
+        try {
+            int cols = 70;
+            char[][] contents = new char[3][cols];
+            for (int col = 0; col < cols; col++) {
+                contents[0][col] = 'X';
+                contents[1][col] = 'O';
+                contents[2][col] = 'X';
+            }
+            contents[1][0] = '1';
+            contents[1][cols - 1] = '2';
+            CircuitBoard board = new CircuitBoard(contents);
+            for (int row = 0; row < contents.length; row++) {
+                for (int col = 0; col < cols; col++) {
+                    if (board.charAt(row, col) != contents[row][col]
+                            || board.isOpen(row, col) != (contents[row][col] == 'O')) {
+                        System.out.println("Position " + row + ", " + col + " does not read back as stored.");
+                        return false;
+                    }
+                }
+            }
+            if (board.isOpen(-1, 0) || board.isOpen(3, 0) || board.isOpen(1, -1) || board.isOpen(1, cols)) {
+                System.out.println("Expected positions off the board to be closed.");
+                return false;
+            }
+
+            //(1, 58) is bit 0 of the third word, (1, 57) bit 63 of the second
+            CircuitBoard copy = new CircuitBoard(board);
+            copy.makeTrace(1, 57);
+            copy.makeBlocked(1, 58);
+            if (copy.charAt(1, 57) != 'T' || copy.charAt(1, 58) != 'X' || copy.charAt(1, 56) != 'O'
+                    || copy.charAt(1, 59) != 'O' || board.charAt(1, 57) != 'O' || board.charAt(1, 58) != 'O') {
+                System.out.println("Edits to a copy did not flip exactly their own bits:\n" + copy);
+                return false;
+            }
+            copy.unmakeTrace(1, 57);
+            copy.makeOpen(1, 58);
+            if (!copy.toString().equals(board.toString())) {
+                System.out.println("Undoing the edits did not restore the board:\n" + copy);
+                return false;
+            }
+
+            ArrayList<TraceState> found = new InPlaceSearch(board).findBestPaths();
+            for (int col = 1; col < cols - 1; col++) {
+                contents[1][col] = 'T';
+            }
+            if (found.size() != 1 || !matchesSolution(found.get(0).getBoard(), new char[][][]{contents})) {
+                System.out.println("Expected the corridor as the one shortest solution, found " + found.size());
+                return false;
+            }
+            System.out.println("Bitplanes read back, edit, copy and search as expected.");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
     //////////////////////////
 	// XXX CircuitTracer Tests
 	//////////////////////////
@@ -827,6 +1370,776 @@ public class CircuitTracerTester {
         return false;
     }
 
+    /////////////////////////////////////////
+	// XXX CircuitTracer Length and Count Test
+	/////////////////////////////////////////
+
+	/**
+	 * Run CircuitTracer with the length (-l) or count (-n) display choice and
+	 * confirm the only output is the shortest trace length (-1 when there are
+	 * no solutions) or the number of solutions.
+	 *
+	 * @param storage       storage choice
+	 * @param displayChoice -l or -n
+	 * @param fileName      input file
+	 * @param solutions     expected solutions
+	 * @return true if test passes, else false
+	 */
+	private boolean testCircuitTracerQuery(String storage, String displayChoice, String fileName,
+            char[][][] solutions) {
+        totalTests += 1;
+        Result result;
+        System.out.printf("Testing java CircuitTracer %s %s %s\n", storage, displayChoice, fileName);
+        String expected;
+        if (displayChoice.equals(COUNT)) {
+            expected = String.valueOf(solutions.length);
+        } else if (solutions.length == 0) {
+            expected = "-1";
+        } else {
+            int traces = 0;
+            for (char[] row : solutions[0]) {
+                for (char c : row) {
+                    if (c == 'T') {
+                        traces++;
+                    }
+                }
+            }
+            expected = String.valueOf(traces);
+        }
+        System.out.println("Expecting output: " + expected);
+        try {
+            ProcessBuilder ctProcessBuilder = new ProcessBuilder("java", "CircuitTracer", storage, displayChoice,
+                    fileName);
+            File outfile = new File(fileName + ".out");
+            ctProcessBuilder.redirectErrorStream(true);
+            ctProcessBuilder.redirectOutput(outfile);
+            Process ctProcess = ctProcessBuilder.start();
+            ctProcess.waitFor(TIMEOUT, TimeUnit.SECONDS);
+            Scanner scan = new Scanner(outfile);
+            String output = "";
+            while (scan.hasNextLine()) {
+                output += scan.nextLine() + "\n";
+            }
+            scan.close();
+            if (output.trim().equals(expected)) {
+                result = Result.ValidOutput;
+                System.out.println("Output matches expected value.");
+            } else {
+                result = Result.InvalidOutput;
+                System.out.println("Output does NOT match expected value:\n" + output);
+            }
+        } catch (Exception e) {
+            result = Result.UnexpectedException;
+            e.printStackTrace(System.out);
+        }
+        return result == Result.ValidOutput;
+    }
+
+    ////////////////////////////////
+	// XXX Layered Stream Test
+	////////////////////////////////
+
+	/**
+	 * Take the first k solved boards from LayeredSearch.stream(), close the
+	 * stream early, and confirm they are the first k in the order
+	 * findBestPaths() lists them. Then walk solutions() to the end, asking
+	 * hasNext() twice per board, and confirm every shortest solution comes
+	 * out once and next() past the end throws NoSuchElementException.
+	 *
+	 * @param fileName  input file
+	 * @param solutions all shortest solutions of the board
+	 * @param k         number of solutions to take from the stream
+	 * @return true if test passes, else false
+	 */
+	private boolean testLayeredStream(String fileName, char[][][] solutions, int k) {
+        totalTests += 1;
+        System.out.printf("Testing LayeredSearch(\"%s\").stream().limit(%d)\n", fileName, k);
+        try {
+            LayeredSearch search = new LayeredSearch(new CircuitBoard(fileName));
+            ArrayList<TraceState> ordered = search.findBestPaths();
+            List<CircuitBoard> first;
+            try (Stream<CircuitBoard> stream = search.stream()) {
+                first = stream.limit(k).collect(Collectors.toList());
+            }
+            if (first.size() != Math.min(k, solutions.length)) {
+                System.out.printf("Expected %d boards from the stream, got %d.\n",
+                        Math.min(k, solutions.length), first.size());
+                return false;
+            }
+            for (int i = 0; i < first.size(); i++) {
+                if (!first.get(i).toString().equals(ordered.get(i).getBoard().toString())) {
+                    System.out.println("Stream board " + i + " is out of order:\n" + first.get(i));
+                    return false;
+                }
+            }
+
+            Iterator<CircuitBoard> walk = search.solutions(); //a new walk starts over after the stream closed
+            int count = 0;
+            while (walk.hasNext() && walk.hasNext()) {
+                CircuitBoard solved = walk.next();
+                if (!matchesSolution(solved, solutions)) {
+                    System.out.println("Board does NOT match any shortest solution:\n" + solved);
+                    return false;
+                }
+                count++;
+            }
+            if (count != solutions.length) {
+                System.out.printf("Expected %d solutions, walked %d.\n", solutions.length, count);
+                return false;
+            }
+            try {
+                walk.next();
+                System.out.println("Expected NoSuchElementException past the last solution.");
+                return false;
+            } catch (NoSuchElementException e) {
+                //expected
+            }
+            System.out.println("First " + first.size() + " of " + count + " solutions streamed in order.");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+    ////////////////////////////////
+	// XXX SolverSession Edit Test
+	////////////////////////////////
+
+	/**
+	 * Toggle positions of a board between open and blocked in a SolverSession
+	 * and confirm after each edit that the session reports the same shortest
+	 * length and number of shortest paths as a fresh search of the edited board.
+	 *
+	 * @param fileName input file
+	 * @param edits    {row, col} positions to toggle, in order
+	 * @return true if test passes, else false
+	 */
+	private boolean testSolverSession(String fileName, int[][] edits) {
+        totalTests += 1;
+        System.out.printf("Testing SolverSession(\"%s\") with %d edits\n", fileName, edits.length);
+        try {
+            SolverSession session = new SolverSession(new CircuitBoard(fileName));
+            for (int[] edit : edits) {
+                if (session.getBoard().charAt(edit[0], edit[1]) == 'X') {
+                    session.open(edit[0], edit[1]);
+                } else {
+                    session.block(edit[0], edit[1]);
+                }
+                LayeredSearch fresh = new LayeredSearch(session.getBoard());
+                LayeredSearch repaired = session.search();
+                if (fresh.shortestLength() != repaired.shortestLength()
+                        || !fresh.countShortestPaths().equals(repaired.countShortestPaths())) {
+                    System.out.printf("After toggling row %d col %d expected length %d with %s paths, got %d with %s.\n",
+                            edit[0], edit[1], fresh.shortestLength(), fresh.countShortestPaths(),
+                            repaired.shortestLength(), repaired.countShortestPaths());
+                    return false;
+                }
+            }
+            System.out.println("Session results match a fresh search after every edit.");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+    ////////////////////////////////
+	// XXX Multi-Net Routing Test
+	////////////////////////////////
+
+	/**
+	 * Route every net of a multi-net board and confirm that each trace is a
+	 * chain of open positions from its source to a position next to its sink
+	 * and, when routing succeeds, that no two traces share a position. The
+	 * routed board must show each component as its label and each trace
+	 * position as its net's distinct trace mark, or as NetRouter.SHARED for
+	 * a congested net.
+	 *
+	 * @param fileName     multi-net input file
+	 * @param expectRouted true if every net can be routed without sharing
+	 * @return true if test passes, else false
+	 */
+	private boolean testNetRouter(String fileName, boolean expectRouted) {
+        totalTests += 1;
+        System.out.printf("Testing NetRouter(\"%s\")\n", fileName);
+        try {
+            MultiNetBoard board = new MultiNetBoard(fileName);
+            NetRouter router = new NetRouter(board);
+            boolean[][] used = new boolean[board.numRows()][board.numCols()];
+            for (int net = 0; net < board.netCount(); net++) {
+                ArrayList<Point> trace = router.getTrace(net);
+                if (trace == null) {
+                    continue;
+                }
+                Point previous = board.getNet(net).getSource();
+                for (Point p : trace) {
+                    if (!board.isOpen(p.x, p.y) || Math.abs(p.x - previous.x) + Math.abs(p.y - previous.y) != 1) {
+                        System.out.printf("Net %c trace is broken at row %d col %d.\n",
+                                board.getNet(net).getLabel(), p.x, p.y);
+                        return false;
+                    }
+                    if (router.isRouted() && used[p.x][p.y]) {
+                        System.out.printf("Routed nets share row %d col %d.\n", p.x, p.y);
+                        return false;
+                    }
+                    used[p.x][p.y] = true;
+                    previous = p;
+                }
+                Point sink = board.getNet(net).getSink();
+                if (Math.abs(sink.x - previous.x) + Math.abs(sink.y - previous.y) != 1) {
+                    System.out.printf("Net %c trace does not reach its sink.\n", board.getNet(net).getLabel());
+                    return false;
+                }
+            }
+            String[] shown = router.toString().split("\n");
+            for (int net = 0; net < board.netCount(); net++) {
+                ArrayList<Point> trace = router.getTrace(net);
+                char label = board.getNet(net).getLabel();
+                char mark = router.traceMark(net);
+                for (int other = 0; other < board.netCount(); other++) {
+                    if (mark == board.getNet(other).getLabel() || (other != net && mark == router.traceMark(other))) {
+                        System.out.printf("Net %c trace mark '%c' is not distinct.\n", label, mark);
+                        return false;
+                    }
+                }
+                for (Point p : (trace == null ? new ArrayList<Point>() : trace)) {
+                    char c = shown[p.x].charAt(2 * p.y);
+                    if (c != mark && !(c == NetRouter.SHARED && router.isCongested(net))) {
+                        System.out.printf("Routed board shows '%c' at row %d col %d of net %c.\n", c, p.x, p.y, label);
+                        return false;
+                    }
+                }
+                for (Point p : new Point[]{board.getNet(net).getSource(), board.getNet(net).getSink()}) {
+                    if (shown[p.x].charAt(2 * p.y) != label) {
+                        System.out.printf("Routed board hides net %c's component at row %d col %d.\n", label, p.x, p.y);
+                        return false;
+                    }
+                }
+            }
+            if (router.isRouted() != expectRouted) {
+                System.out.printf("Expected routing to %s, but it %s.\n", expectRouted ? "succeed" : "fail",
+                        router.isRouted() ? "succeeded" : "failed");
+                return false;
+            }
+            System.out.println("Every trace is connected and routing " + (expectRouted ? "succeeded." : "failed as expected."));
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+    ////////////////////////////////
+	// XXX Corridor Search Test
+	////////////////////////////////
+
+	/**
+	 * Contract a board into junctions and corridors and confirm the number
+	 * of junctions, the shortest length and the number of solutions, each
+	 * of which must be a chain of open positions from '1' to '2'.
+	 *
+	 * @param contents  board to search
+	 * @param junctions expected junctions, including both components
+	 * @param length    expected shortest trace length
+	 * @param solutions expected number of shortest solutions
+	 * @return true if test passes, else false
+	 */
+	private boolean testCorridorSearch(char[][] contents, int junctions, int length, int solutions) {
+        totalTests += 1;
+        System.out.printf("Testing CorridorSearch(%dx%d board)\n", contents.length, contents[0].length);
+        try {
+            CircuitBoard board = new CircuitBoard(contents);
+            CorridorSearch search = new CorridorSearch(board);
+            if (search.junctionCount() != junctions) {
+                System.out.printf("Expected %d junctions, found %d.\n", junctions, search.junctionCount());
+                return false;
+            }
+            if (search.shortestLength() != length) {
+                System.out.printf("Expected shortest length %d, found %d.\n", length, search.shortestLength());
+                return false;
+            }
+            ArrayList<TraceState> found = search.findBestPaths();
+            if (found.size() != solutions) {
+                System.out.printf("Expected %d solutions, found %d.\n", solutions, found.size());
+                return false;
+            }
+            int cols = board.numCols();
+            for (TraceState state : found) {
+                int previous = board.getStartingIndex();
+                for (int cell : state.getPathIndices()) {
+                    if (Math.abs(cell / cols - previous / cols) + Math.abs(cell % cols - previous % cols) != 1) {
+                        System.out.println("Trace is broken:\n" + state);
+                        return false;
+                    }
+                    previous = cell;
+                }
+                if (state.pathLength() != length || !state.isSolution()) {
+                    System.out.println("Trace is not a shortest solution:\n" + state);
+                    return false;
+                }
+            }
+            System.out.println(junctions + " junctions and " + solutions + " solutions of length " + length + ".");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+    ////////////////////////////////
+	// XXX Beam Search Test
+	////////////////////////////////
+
+	/**
+	 * Run a BeamSearch and confirm its trace respects the reported lower
+	 * bound and is no shorter than a shortest solution. A beam at least as
+	 * wide as the board's breadth-first levels must find one of the shortest
+	 * solutions exactly.
+	 *
+	 * @param fileName  input file
+	 * @param width     beam width
+	 * @param solutions all shortest solutions of the board
+	 * @return true if test passes, else false
+	 */
+	private boolean testBeamSearch(String fileName, int width, char[][][] solutions) {
+        totalTests += 1;
+        System.out.printf("Testing BeamSearch(\"%s\", %d)\n", fileName, width);
+        try {
+            BeamSearch beam = new BeamSearch(new CircuitBoard(fileName), width);
+            TraceState found = beam.getBestPath();
+            if (found == null) {
+                if (solutions.length > 0 && width >= BeamSearch.DEFAULT_WIDTH) {
+                    System.out.println("Expected a trace, but the beam found none.");
+                    return false;
+                }
+                System.out.println("No trace found, as allowed.");
+                return true;
+            }
+            if (solutions.length == 0) {
+                System.out.println("Found a trace on a board with no solutions.");
+                return false;
+            }
+            CircuitBoard solved = found.getBoard();
+            int shortest = 0;
+            for (char[] row : solutions[0]) {
+                for (char c : row) {
+                    shortest += (c == 'T' ? 1 : 0);
+                }
+            }
+            if (found.pathLength() < beam.lowerBound() || found.pathLength() < shortest) {
+                System.out.printf("Trace of length %d beats the lower bound %d or shortest length %d.\n",
+                        found.pathLength(), beam.lowerBound(), shortest);
+                return false;
+            }
+            if (width < BeamSearch.DEFAULT_WIDTH) {
+                System.out.println("Trace is within the bounds.");
+                return true;
+            }
+            for (char[][] solution : solutions) {
+                boolean same = true;
+                for (int row = 0; row < solution.length; row++) {
+                    for (int col = 0; col < solution[row].length; col++) {
+                        same &= solved.charAt(row, col) == solution[row][col];
+                    }
+                }
+                if (same) {
+                    System.out.println("Trace matches a shortest solution.");
+                    return true;
+                }
+            }
+            System.out.println("Trace does NOT match any shortest solution:\n" + solved);
+            return false;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+    ////////////////////////////////
+	// XXX Weighted Search Test
+	////////////////////////////////
+
+	/**
+	 * Run a WeightedSearch and confirm the cheapest cost, the number of
+	 * cheapest traces, and that every trace returned has that cost.
+	 *
+	 * @param fileName      input file, with or without a cost layer
+	 * @param expectedCost  cost of a cheapest trace, or -1 if there is none
+	 * @param expectedCount number of cheapest traces
+	 * @return true if test passes, else false
+	 */
+	private boolean testWeightedSearch(String fileName, int expectedCost, int expectedCount) {
+        totalTests += 1;
+        System.out.printf("Testing WeightedSearch(\"%s\")\n", fileName);
+        try {
+            CircuitBoard board = new CircuitBoard(fileName);
+            WeightedSearch search = new WeightedSearch(board);
+            ArrayList<TraceState> cheapest = search.findBestPaths();
+            if (search.minimumCost() != expectedCost || search.countCheapestPaths().intValue() != expectedCount
+                    || cheapest.size() != expectedCount) {
+                System.out.printf("Expected cost %d with %d traces, got cost %d with %s counted and %d found.\n",
+                        expectedCost, expectedCount, search.minimumCost(), search.countCheapestPaths(),
+                        cheapest.size());
+                return false;
+            }
+            for (TraceState trace : cheapest) {
+                int cost = 0;
+                for (Point p : trace.getPath()) {
+                    cost += board.costAt(p.x, p.y);
+                }
+                if (cost != expectedCost || !trace.isSolution()) {
+                    System.out.println("Trace does not reach '2' at the cheapest cost:\n" + trace);
+                    return false;
+                }
+            }
+            System.out.println("Cost and traces match.");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+    ////////////////////////////////
+	// XXX TraceState Pool Test
+	////////////////////////////////
+
+	/**
+	 * Run CircuitTracer's storage search with a TraceStatePool of our own.
+	 * Confirm the shortest solutions are all found intact despite the
+	 * recycling, that every other state, replaced solutions included, ends
+	 * up back in the pool, and that most states came from the pool rather
+	 * than being allocated. A stack finds longer solutions before the
+	 * shortest, so it also replaces solutions.
+	 *
+	 * @param fileName  input file
+	 * @param solutions all shortest solutions of the board
+	 * @param lifo      true to search with a stack, false with a queue
+	 * @return true if test passes, else false
+	 */
+	private boolean testTraceStatePool(String fileName, char[][][] solutions, boolean lifo) {
+        totalTests += 1;
+        System.out.printf("Testing TraceStatePool(\"%s\", %s)\n", fileName, lifo ? "stack" : "queue");
+        try {
+            CircuitBoard board = new CircuitBoard(fileName);
+            TraceStatePool pool = new TraceStatePool(board);
+            int capacity = pool.available();
+            Point start = board.getStartingPoint();
+            int created = 0; //first states of the search, made without the pool
+            int[][] steps = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+            for (int[] step : steps) {
+                if (board.isOpen(start.x + step[0], start.y + step[1])) {
+                    created++;
+                }
+            }
+            ArrayList<TraceState> found = CircuitTracer.findBestPaths(board,
+                    lifo ? Storage.getStackInstance() : Storage.getQueueInstance(), false, pool);
+            if (found.size() != solutions.length) {
+                System.out.printf("Expected %d solutions, found %d.\n", solutions.length, found.size());
+                return false;
+            }
+            HashSet<String> kept = new HashSet<String>(); //each prefix of a solution is a state it holds on to
+            for (TraceState state : found) {
+                if (!matchesSolution(state.getBoard(), solutions)) {
+                    System.out.println("Recycled trace does NOT match any shortest solution:\n" + state);
+                    return false;
+                }
+                int[] path = state.getPathIndices();
+                for (int length = 1; length <= path.length; length++) {
+                    kept.add(Arrays.toString(Arrays.copyOf(path, length)));
+                }
+            }
+            if (pool.available() != capacity + pool.misses() + created - kept.size()) {
+                System.out.printf("Expected every state but the %d on solutions back in the pool, found %d of %d.\n",
+                        kept.size(), pool.available(), capacity + pool.misses() + created);
+                return false;
+            }
+            if (pool.hits() < pool.misses()) {
+                System.out.println("Expected most states to be recycled: " + pool);
+                return false;
+            }
+            System.out.println("Solutions match and every other state was recycled: " + pool);
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+	/**
+	 * @param solved    solved board
+	 * @param solutions expected solutions
+	 * @return true if solved has the same contents as one of solutions
+	 */
+	private boolean matchesSolution(CircuitBoard solved, char[][][] solutions) {
+        for (char[][] solution : solutions) {
+            boolean same = true;
+            for (int row = 0; row < solution.length; row++) {
+                for (int col = 0; col < solution[row].length; col++) {
+                    same &= solved.charAt(row, col) == solution[row][col];
+                }
+            }
+            if (same) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    ////////////////////////////////
+	// XXX IntStorage Test
+	////////////////////////////////
+
+	/**
+	 * Store and retrieve over a million indices through an IntStorage, in
+	 * rounds that grow and shrink it, and confirm every index comes back in
+	 * stack or queue order. An IndexFrontier with the smallest budget must
+	 * also have spilled segments to disk and read them back.
+	 *
+	 * @param frontier empty storage to test
+	 * @param lifo     true for stack order, false for queue order
+	 * @return true if test passes, else false
+	 */
+	private boolean testIntStorage(IntStorage frontier, boolean lifo) {
+        totalTests += 1;
+        System.out.printf("Testing %s(%s)\n", frontier.getClass().getName(), lifo ? "stack" : "queue");
+        try {
+            ArrayDeque<Integer> expected = new ArrayDeque<Integer>();
+            Random random = new Random(221);
+            int next = 0;
+            for (int round = 0; round < 8; round++) {
+                int stores = IndexFrontier.SEGMENT_SIZE * (1 + random.nextInt(4)) + random.nextInt(1000);
+                for (int i = 0; i < stores; i++) {
+                    frontier.store(next);
+                    expected.addLast(next++);
+                }
+                int retrieves = random.nextInt(expected.size() + 1);
+                for (int i = 0; i < retrieves; i++) {
+                    int want = (lifo ? expected.removeLast() : expected.removeFirst());
+                    if (frontier.retrieve() != want) {
+                        System.out.println("Index retrieved out of order, expected " + want);
+                        return false;
+                    }
+                }
+            }
+            while (!expected.isEmpty()) {
+                int want = (lifo ? expected.removeLast() : expected.removeFirst());
+                if (frontier.retrieve() != want) {
+                    System.out.println("Index retrieved out of order, expected " + want);
+                    return false;
+                }
+            }
+            if (!frontier.isEmpty() || frontier.size() != 0) {
+                System.out.printf("Expected an empty storage, found %d left.\n", frontier.size());
+                return false;
+            }
+            if (frontier instanceof IndexFrontier) {
+                long spilled = ((IndexFrontier) frontier).spilledSegments();
+                if (spilled == 0) {
+                    System.out.println("Expected segments to spill, none did.");
+                    return false;
+                }
+                System.out.println(spilled + " segments spilled and came back.");
+            }
+            System.out.println("All " + next + " indices came back in order.");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+	/**
+	 * Push 200 segments of indices through a queue IndexFrontier with the
+	 * smallest budget while holding its size near six segments, and confirm
+	 * the indices come back in order and the spill file stays within twice
+	 * the largest live size plus the two segments kept in memory, rather
+	 * than growing with everything that passed through.
+	 *
+	 * @return true if test passes, else false
+	 */
+	private boolean testIndexFrontierChurn() {
+        totalTests += 1;
+        System.out.println("Testing IndexFrontier(queue) churning past its budget");
+        try {
+            IndexFrontier frontier = new IndexFrontier(false, 0, null);
+            int next = 0;
+            int want = 0;
+            long maxLive = 0;
+            long maxFile = 0;
+            for (int i = 0; i < 6 * IndexFrontier.SEGMENT_SIZE; i++) {
+                frontier.store(next++);
+            }
+            for (int round = 0; round < 200; round++) {
+                for (int i = 0; i < IndexFrontier.SEGMENT_SIZE; i++) {
+                    frontier.store(next++);
+                }
+                maxLive = Math.max(maxLive, frontier.size());
+                maxFile = Math.max(maxFile, frontier.spillFileBytes());
+                for (int i = 0; i < IndexFrontier.SEGMENT_SIZE; i++) {
+                    if (frontier.retrieve() != want++) {
+                        System.out.println("Index retrieved out of order, expected " + (want - 1));
+                        return false;
+                    }
+                }
+            }
+            long bound = 2 * (maxLive + 2 * IndexFrontier.SEGMENT_SIZE) * Integer.BYTES;
+            if (frontier.spilledSegments() < 200 || maxFile > bound) {
+                System.out.printf("Expected 200+ segments spilled in a file of at most %d bytes, found %d in %d.\n",
+                        bound, frontier.spilledSegments(), maxFile);
+                return false;
+            }
+            System.out.printf("%d segments spilled, file peaked at %d bytes for %d live indices.\n",
+                    frontier.spilledSegments(), maxFile, maxLive);
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
+    ////////////////////////////////
+	// XXX FrontierArena Test
+	////////////////////////////////
+
+	/**
+	 * Fill a FrontierArena with one chunk of direct memory well past that
+	 * chunk, so the rest is mapped from a spill file, read every state back,
+	 * and confirm close() deletes the file.
+	 *
+	 * @return true if test passes, else false
+	 */
+	private boolean testFrontierArenaSpill() {
+        totalTests += 1;
+        System.out.println("Testing FrontierArena(4 MB direct)");
+        File directory = null;
+        try {
+            directory = Files.createTempDirectory("arenatest").toFile();
+            FrontierArena arena = new FrontierArena(4L << 20, directory);
+            int states = 5 << 19; //two and a half chunks
+            arena.add(FrontierArena.NO_PARENT, 0);
+            for (int i = 1; i < states; i++) {
+                arena.add(i / 3, i & 3);
+            }
+            String[] spilled = directory.list();
+            if (spilled == null || spilled.length != 1) {
+                System.out.println("Expected one spill file, found " + (spilled == null ? 0 : spilled.length));
+                return false;
+            }
+            if (arena.size() != states || arena.parentOf(0) != FrontierArena.NO_PARENT) {
+                System.out.println("Expected " + states + " states under one root, found " + arena.size());
+                return false;
+            }
+            for (int i = 1; i < states; i++) {
+                if (arena.parentOf(i) != i / 3 || arena.moveOf(i) != (i & 3)) {
+                    System.out.println("State " + i + " did not read back as stored");
+                    return false;
+                }
+            }
+            arena.close();
+            if (directory.list().length != 0 || arena.size() != 0) {
+                System.out.println("Expected close() to empty the arena and delete the spill file.");
+                return false;
+            }
+            System.out.println("All " + states + " states read back and the spill file was deleted.");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        } finally {
+            if (directory != null) {
+                for (File file : directory.listFiles()) {
+                    file.delete();
+                }
+                directory.delete();
+            }
+        }
+    }
+
+    ////////////////////////////////
+	// XXX ConcurrentStorage Test
+	////////////////////////////////
+
+	/**
+	 * Let eight threads expand a complete binary tree of 2^21 - 1 nodes
+	 * through a shared ConcurrentStorage, node i storing its children 2i + 1
+	 * and 2i + 2, and confirm every node id is retrieved exactly once and
+	 * every worker stops once the tree is done. With fail set, one worker
+	 * throws an Error partway through and aborts the storage; every other
+	 * worker must still stop and no id may have been retrieved twice.
+	 *
+	 * @param storage empty storage to test
+	 * @param fail    true to fail one worker partway through
+	 * @return true if test passes, else false
+	 */
+	private boolean testConcurrentStorage(ConcurrentStorage<Integer> storage, boolean fail) {
+        totalTests += 1;
+        System.out.printf("Testing %s(%s)\n", storage.getClass().getName(), fail ? "failing worker" : "all workers");
+        try {
+            final int nodes = (1 << 21) - 1;
+            AtomicInteger retrieved = new AtomicInteger();
+            AtomicInteger failures = new AtomicInteger();
+            AtomicIntegerArray seen = new AtomicIntegerArray(nodes);
+            storage.store(0);
+            Thread[] workers = new Thread[8];
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Thread(() -> {
+                    try {
+                        Integer node;
+                        while ((node = storage.retrieve()) != null) {
+                            seen.incrementAndGet(node);
+                            if (retrieved.incrementAndGet() == nodes / 3 && fail) {
+                                throw new StackOverflowError("simulated worker failure");
+                            }
+                            if (2 * node + 2 < nodes) {
+                                storage.store(2 * node + 1);
+                                storage.store(2 * node + 2);
+                            }
+                        }
+                    } catch (Throwable t) {
+                        failures.incrementAndGet();
+                        storage.abort();
+                    }
+                });
+                workers[i].start();
+            }
+            for (Thread worker : workers) {
+                worker.join(60000);
+                if (worker.isAlive()) {
+                    System.out.println("A worker never stopped.");
+                    storage.abort();
+                    return false;
+                }
+            }
+            for (int node = 0; node < nodes; node++) {
+                if (seen.get(node) > 1 || (!fail && seen.get(node) == 0)) {
+                    System.out.printf("Node %d was retrieved %d times.\n", node, seen.get(node));
+                    return false;
+                }
+            }
+            if (fail) {
+                if (failures.get() != 1 || !storage.isAborted() || !storage.isEmpty()) {
+                    System.out.printf("Expected one failure and an aborted storage, found %d failures.\n",
+                            failures.get());
+                    return false;
+                }
+                System.out.println("Every worker stopped after one failed.");
+                return true;
+            }
+            if (retrieved.get() != nodes || !storage.isEmpty()) {
+                System.out.printf("Expected %d nodes retrieved and an empty storage, found %d.\n", nodes,
+                        retrieved.get());
+                return false;
+            }
+            System.out.println("All " + nodes + " nodes retrieved once and every worker stopped.");
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace(System.out);
+            return false;
+        }
+    }
+
     //////////////////////////////////////////////
 	// XXX CircuitTracer Invalid Command Line Test
 	//////////////////////////////////////////////
@@ -1252,6 +2565,11 @@ public class CircuitTracerTester {
     private static final char[][] VALID_10 = {{'1', 'O', 'X'}, {'O', 'X', 'O'}, {'X', 'O', '2'}};
     private static final char[][][] VALID_10_SOLUTIONS = { // none
     };
+    private static final String MULTINET_1_FILENAME = "multinet1.dat";
+    private static final String MULTINET_2_FILENAME = "multinet2.dat";
+    private static final String WEIGHTED_1_FILENAME = "weighted1.dat";
+    private static final int WEIGHTED_1_COST = 5;
+    private static final int WEIGHTED_1_COUNT = 8;
 
     //////////////////////////////////
 	// XXX Invalid Input File Contents
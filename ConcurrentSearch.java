@@ -0,0 +1,122 @@
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Search for all shortest paths in which several threads run CircuitTracer's
+ * storage search loop over one shared ConcurrentStorage: each retrieves a
+ * TraceState, drops it if it can no longer tie the best length, keeps it if
+ * it is a solution and otherwise stores its open neighbors. The workers
+ * prune against one shared best length and stop together when the storage
+ * reports that no state is left anywhere. Solutions are sorted by their
+ * trace positions so the result does not depend on thread timing.
+ *
+ * @author Daylen Mathews
+ */
+public class ConcurrentSearch {
+
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    private CircuitBoard board;
+    private ConcurrentStorage<TraceState> frontier;
+    private int threads;
+    private int endRow;
+    private int endCol;
+    /**
+     * shortest solution length found by any worker so far
+     */
+    private AtomicInteger bestLength = new AtomicInteger(Integer.MAX_VALUE);
+    private ConcurrentLinkedQueue<TraceState> solutions = new ConcurrentLinkedQueue<TraceState>();
+    private ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<Throwable>();
+
+    /**
+     * @param board board to search
+     * @param frontier empty storage shared by the workers
+     * @param threads number of worker threads
+     */
+    public ConcurrentSearch(CircuitBoard board, ConcurrentStorage<TraceState> frontier, int threads) {
+        this.board = board;
+        this.frontier = frontier;
+        this.threads = Math.max(1, threads);
+        endRow = board.getEndingIndex() / board.numCols();
+        endCol = board.getEndingIndex() % board.numCols();
+    }
+
+    /**
+     * @return all shortest solutions, sorted by trace positions
+     * @throws RuntimeException or Error that ended any worker, after every
+     * worker has stopped
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        int startRow = board.getStartingIndex() / board.numCols();
+        int startCol = board.getStartingIndex() % board.numCols();
+        for (int dir = 0; dir < ROW_STEP.length; dir++) {
+            if (board.isOpen(startRow + ROW_STEP[dir], startCol + COL_STEP[dir])) {
+                frontier.store(new TraceState(board, startRow + ROW_STEP[dir], startCol + COL_STEP[dir]));
+            }
+        }
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Thread(this::work, "ConcurrentSearch-" + i);
+            workers[i].start();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted waiting for search workers", e);
+            }
+        }
+        Throwable failure = failures.peek();
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        } else if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        for (TraceState state : solutions) {
+            if (state.pathLength() == bestLength.get()) {
+                bestPaths.add(state);
+            }
+        }
+        bestPaths.sort(ParallelSearch.BY_PATH);
+        return bestPaths;
+    }
+
+    /**
+     * Worker loop, run until the storage holds nothing and no worker is
+     * expanding a state. Any failure, Errors included, is recorded and
+     * aborts the storage, so the other workers stop instead of waiting
+     * forever on the state this one held.
+     */
+    private void work() {
+        try {
+            TraceState currentState;
+            while ((currentState = frontier.retrieve()) != null) {
+                if (currentState.minSolutionLength() > bestLength.get()) {
+                    continue; //another worker may have shortened the best path
+                }
+                if (currentState.isSolution()) {
+                    bestLength.accumulateAndGet(currentState.pathLength(), Math::min);
+                    solutions.add(currentState);
+                    continue;
+                }
+                int nextLength = currentState.pathLength() + 1;
+                for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                    int row = currentState.getRow() + ROW_STEP[dir];
+                    int col = currentState.getCol() + COL_STEP[dir];
+                    if (currentState.isOpen(row, col)
+                            && nextLength + Math.abs(row - endRow) + Math.abs(col - endCol) - 1 <= bestLength.get()) {
+                        frontier.store(new TraceState(currentState, row, col));
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            failures.add(t);
+            frontier.abort();
+        }
+    }
+} // class ConcurrentSearch
@@ -0,0 +1,140 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Storage that any number of worker threads can share, each storing the
+ * states it expands and retrieving more, with no global lock. Subclasses
+ * supply the data structure; this class detects when the search is over.
+ *
+ * Every element stored counts as pending until the worker that retrieves it
+ * is finished with it, which is when that worker next calls retrieve(), by
+ * then having stored whatever the element expanded into. retrieve() waits
+ * while nothing is stored but some worker still holds an element, and
+ * returns null once nothing is pending at all: no element is stored and
+ * every worker is idle, so none can store another. A worker loop is then
+ *
+ * <pre>
+ * T element;
+ * while ((element = storage.retrieve()) != null) {
+ *     ... store the elements it expands into ...
+ * }
+ * </pre>
+ *
+ * and isEmpty() is true only once that loop has ended for every worker.
+ * Elements stored before the workers start, from any thread, seed the
+ * search. A worker that fails must call abort(), since the element it holds
+ * would otherwise stay pending and keep every other worker waiting.
+ *
+ * @author Daylen Mathews
+ */
+public abstract class ConcurrentStorage<T> implements Storage<T> {
+
+    /**
+     * elements stored and either still stored or held by a worker
+     */
+    private AtomicLong pending = new AtomicLong();
+    /**
+     * true while the calling thread holds an element it retrieved
+     */
+    private ThreadLocal<boolean[]> holding = ThreadLocal.withInitial(() -> new boolean[1]);
+    private volatile boolean aborted;
+
+    /**
+     * Returns a ConcurrentStorage giving each worker its own deque, retrieved
+     * newest first like a stack, and letting idle workers steal the oldest
+     * elements of the others
+     *
+     * @return instance of work-stealing ConcurrentStorage
+     */
+    public static <E> ConcurrentStorage<E> getWorkStealingInstance() {
+        return new WorkStealingStorage<E>();
+    }
+
+    /**
+     * Returns a ConcurrentStorage sharing one lock-free queue, retrieved
+     * oldest first, among all workers
+     *
+     * @return instance of shared queue ConcurrentStorage
+     */
+    public static <E> ConcurrentStorage<E> getSharedQueueInstance() {
+        return new SharedQueueStorage<E>();
+    }
+
+    /**
+     * Add element to the underlying data structure
+     */
+    protected abstract void put(T element);
+
+    /**
+     * @return an element removed from the underlying data structure, or null
+     * if none could be taken right now
+     */
+    protected abstract T take();
+
+    /**
+     * @return number of elements in the underlying data structure, which may
+     * be out of date as soon as it is returned
+     */
+    protected abstract int stored();
+
+    @Override
+    public final void store(T element) {
+        pending.incrementAndGet(); //before it can be taken, so pending never drops to zero early
+        put(element);
+    }
+
+    /**
+     * Finish with the element this thread retrieved last, if any, then wait
+     * for the next one.
+     *
+     * @return next element, or null once the search is over
+     */
+    @Override
+    public final T retrieve() {
+        boolean[] held = holding.get();
+        if (held[0]) {
+            held[0] = false;
+            pending.decrementAndGet();
+        }
+        while (!aborted) {
+            T next = take();
+            if (next != null) {
+                held[0] = true;
+                return next;
+            }
+            if (pending.get() == 0) {
+                return null;
+            }
+            Thread.yield(); //another worker is still expanding a state
+        }
+        return null;
+    }
+
+    /**
+     * End the search for every worker: from now on retrieve() returns null
+     * whatever is still stored or held.
+     */
+    public final void abort() {
+        aborted = true;
+    }
+
+    /**
+     * @return true if abort() has been called
+     */
+    public final boolean isAborted() {
+        return aborted;
+    }
+
+    /**
+     * @return true once nothing is stored and no worker holds an element, or
+     * once the search is aborted
+     */
+    @Override
+    public final boolean isEmpty() {
+        return aborted || pending.get() == 0;
+    }
+
+    @Override
+    public final int size() {
+        return stored();
+    }
+} // class ConcurrentStorage
@@ -0,0 +1,272 @@
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Finds all shortest paths between the components of a CircuitBoard on a
+ * contracted graph of its junctions. Every open position with exactly two
+ * passable neighbors (open positions or components) is a corridor cell; all
+ * other open positions, plus '1' and '2', are junctions. Each run of corridor
+ * cells between two junctions becomes one weighted edge, so the search pays
+ * once per corridor instead of once per position along it. Shortest distances
+ * from '1' are settled with Dijkstra's algorithm over the junctions, and only
+ * the final solutions are expanded back into individual trace positions.
+ *
+ * @author Daylen Mathews
+ */
+public class CorridorSearch {
+
+    private static final int UNREACHED = DistanceField.UNREACHED;
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    private CircuitBoard board;
+    /**
+     * junction index of every board position, UNREACHED for corridor cells
+     * and blocked positions
+     */
+    private int[][] junctionIndex;
+    private ArrayList<Point> junctions = new ArrayList<Point>();
+    /**
+     * edges entering each junction
+     */
+    private ArrayList<ArrayList<Edge>> incoming = new ArrayList<ArrayList<Edge>>();
+    /**
+     * edges leaving each junction
+     */
+    private ArrayList<ArrayList<Edge>> outgoing = new ArrayList<ArrayList<Edge>>();
+    /**
+     * fewest traces needed to reach each junction from '1', counting the
+     * junction itself
+     */
+    private int[] distance;
+    private int start;
+    private int end;
+
+    /**
+     * Contract the board and settle the distance to every junction.
+     *
+     * @param board board to search
+     */
+    public CorridorSearch(CircuitBoard board) {
+        this.board = board;
+        junctionIndex = new int[board.numRows()][board.numCols()];
+        for (int row = 0; row < board.numRows(); row++) {
+            Arrays.fill(junctionIndex[row], UNREACHED);
+            for (int col = 0; col < board.numCols(); col++) {
+                if (isPassable(row, col) && (!board.isOpen(row, col) || passableNeighbors(row, col) != 2)) {
+                    junctionIndex[row][col] = junctions.size();
+                    junctions.add(new Point(row, col));
+                    incoming.add(new ArrayList<Edge>());
+                    outgoing.add(new ArrayList<Edge>());
+                }
+            }
+        }
+        Point startPoint = board.getStartingPoint();
+        Point endPoint = board.getEndingPoint();
+        start = junctionIndex[startPoint.x][startPoint.y];
+        end = junctionIndex[endPoint.x][endPoint.y];
+
+        //nothing leaves '2' and nothing enters '1', so those corridors are never followed that way
+        for (int from = 0; from < junctions.size(); from++) {
+            if (from == end) {
+                continue;
+            }
+            for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                Edge edge = follow(from, dir);
+                if (edge != null) {
+                    outgoing.get(from).add(edge);
+                    incoming.get(edge.to).add(edge);
+                }
+            }
+        }
+        settleDistances();
+    }
+
+    /**
+     * @return true if (row, col) is open or holds a component
+     */
+    private boolean isPassable(int row, int col) {
+        return board.isOpen(row, col) || (row >= 0 && row < board.numRows() && col >= 0
+                && col < board.numCols() && (board.isStart(row, col) || board.isEnd(row, col)));
+    }
+
+    /**
+     * @return number of passable positions next to (row, col)
+     */
+    private int passableNeighbors(int row, int col) {
+        int count = 0;
+        for (int dir = 0; dir < ROW_STEP.length; dir++) {
+            if (isPassable(row + ROW_STEP[dir], col + COL_STEP[dir])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Walk the corridor leaving junction from in direction dir up to the
+     * next junction.
+     *
+     * @return the corridor as an edge, or null if there is nothing to follow,
+     * it returns to from, or it leads into '1'
+     */
+    private Edge follow(int from, int dir) {
+        Point p = junctions.get(from);
+        int prevRow = p.x;
+        int prevCol = p.y;
+        int row = p.x + ROW_STEP[dir];
+        int col = p.y + COL_STEP[dir];
+        if (!isPassable(row, col) || (from == start && junctionIndex[row][col] == end)) {
+            return null; //a trace needs at least one position
+        }
+        ArrayList<Point> cells = new ArrayList<Point>();
+        while (junctionIndex[row][col] == UNREACHED) {
+            cells.add(new Point(row, col));
+            for (int d = 0; d < ROW_STEP.length; d++) {
+                int nextRow = row + ROW_STEP[d];
+                int nextCol = col + COL_STEP[d];
+                if (isPassable(nextRow, nextCol) && (nextRow != prevRow || nextCol != prevCol)) {
+                    prevRow = row;
+                    prevCol = col;
+                    row = nextRow;
+                    col = nextCol;
+                    break;
+                }
+            }
+        }
+        int to = junctionIndex[row][col];
+        if (to == from || to == start) {
+            return null;
+        }
+        return new Edge(from, to, cells.toArray(new Point[cells.size()]), cells.size() + (to == end ? 0 : 1));
+    }
+
+    /**
+     * Dijkstra's algorithm from '1' over the contracted graph.
+     */
+    private void settleDistances() {
+        distance = new int[junctions.size()];
+        Arrays.fill(distance, UNREACHED);
+        PriorityQueue<int[]> pending = new PriorityQueue<int[]>((a, b) -> Integer.compare(a[0], b[0]));
+        pending.add(new int[]{0, start});
+        while (!pending.isEmpty()) {
+            int[] next = pending.remove();
+            if (distance[next[1]] != UNREACHED) {
+                continue; //already settled at a smaller distance
+            }
+            distance[next[1]] = next[0];
+            for (Edge edge : outgoing.get(next[1])) {
+                if (distance[edge.to] == UNREACHED) {
+                    pending.add(new int[]{next[0] + edge.weight, edge.to});
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of traces in a shortest path, or DistanceField.UNREACHED
+     * if the components cannot be connected
+     */
+    public int shortestLength() {
+        return distance[end];
+    }
+
+    /**
+     * @return number of junctions in the contracted graph, including both
+     * components
+     */
+    public int junctionCount() {
+        return junctions.size();
+    }
+
+    /**
+     * Walk back from '2' along edges that lie on shortest paths and expand
+     * each complete walk into its trace positions.
+     *
+     * @return all shortest solutions
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        if (distance[end] == UNREACHED) {
+            return bestPaths;
+        }
+        ArrayList<Edge> walk = new ArrayList<Edge>(); //edges from '2' back toward '1'
+        ArrayList<Integer> nextEdge = new ArrayList<Integer>();
+        nextEdge.add(0);
+        while (!nextEdge.isEmpty()) {
+            int depth = nextEdge.size() - 1;
+            int at = (walk.isEmpty() ? end : walk.get(depth - 1).from);
+            if (at == start) {
+                bestPaths.add(new TraceState(board, expand(walk)));
+                nextEdge.remove(depth);
+                if (!walk.isEmpty()) {
+                    walk.remove(walk.size() - 1);
+                }
+                continue;
+            }
+            Edge next = null;
+            ArrayList<Edge> candidates = incoming.get(at);
+            while (next == null && nextEdge.get(depth) < candidates.size()) {
+                Edge edge = candidates.get(nextEdge.get(depth));
+                nextEdge.set(depth, nextEdge.get(depth) + 1);
+                if (distance[edge.from] != UNREACHED && distance[edge.from] + edge.weight == distance[at]) {
+                    next = edge;
+                }
+            }
+            if (next == null) {
+                nextEdge.remove(depth);
+                if (!walk.isEmpty()) {
+                    walk.remove(walk.size() - 1);
+                }
+            } else {
+                walk.add(next);
+                nextEdge.add(0);
+            }
+        }
+        return bestPaths;
+    }
+
+    /**
+     * @param walk edges from '2' back to '1'
+     * @return trace positions of the walk, in order from '1'
+     */
+    private ArrayList<Point> expand(ArrayList<Edge> walk) {
+        ArrayList<Point> path = new ArrayList<Point>(distance[end]);
+        for (int i = walk.size() - 1; i >= 0; i--) {
+            Edge edge = walk.get(i);
+            path.addAll(Arrays.asList(edge.cells));
+            if (edge.to != end) {
+                path.add(junctions.get(edge.to));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * One corridor between two junctions.
+     */
+    private static class Edge {
+
+        private int from;
+        private int to;
+        /**
+         * corridor cells in order from the from junction
+         */
+        private Point[] cells;
+        /**
+         * traces added by taking this edge: the corridor plus the junction
+         * it leads to, unless that is '2'
+         */
+        private int weight;
+
+        Edge(int from, int to, Point[] cells, int weight) {
+            this.from = from;
+            this.to = to;
+            this.cells = cells;
+            this.weight = weight;
+        }
+    }
+} // class CorridorSearch
@@ -0,0 +1,269 @@
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+
+/**
+ * Breadth-first distances over the open positions of a CircuitBoard, measured
+ * from one of its two components. A position adjacent to the component is at
+ * distance 1, so the distance of a position equals the length of the shortest
+ * trace that reaches it.
+ *
+ * @author Daylen Mathews
+ */
+public class DistanceField {
+
+    /**
+     * distance of any position not reachable through open positions
+     */
+    public static final int UNREACHED = -1;
+
+    /**
+     * distance to every position, UNREACHED for blocked or unreachable ones
+     */
+    private int[][] distance;
+    /**
+     * position of the component distances are measured from
+     */
+    private Point source;
+
+    /**
+     * Wrap distances already computed by another breadth-first search.
+     *
+     * @param distance distance to every position, UNREACHED where there is none
+     * @param source position of the component measured from
+     */
+    DistanceField(int[][] distance, Point source) {
+        this.distance = distance;
+        this.source = new Point(source);
+    }
+
+    /**
+     * Run a breadth-first search from the given component position.
+     *
+     * @param board board to measure
+     * @param source position of the component to measure from
+     */
+    private DistanceField(CircuitBoard board, Point source) {
+        this.source = new Point(source);
+        distance = new int[board.numRows()][board.numCols()];
+        for (int[] row : distance) {
+            Arrays.fill(row, UNREACHED);
+        }
+        int cols = board.numCols();
+        IntStorage frontier = IntStorage.getQueueInstance(); //positions as row * cols + col
+        visit(board, source.x, source.y, 1, frontier);
+        while (!frontier.isEmpty()) {
+            int p = frontier.retrieve();
+            visit(board, p / cols, p % cols, distance[p / cols][p % cols] + 1, frontier);
+        }
+    }
+
+    /**
+     * Label the unvisited open neighbors of (row, col) and add them to the
+     * frontier.
+     */
+    private void visit(CircuitBoard board, int row, int col, int nextDistance, IntStorage frontier) {
+        label(board, row - 1, col, nextDistance, frontier);
+        label(board, row + 1, col, nextDistance, frontier);
+        label(board, row, col - 1, nextDistance, frontier);
+        label(board, row, col + 1, nextDistance, frontier);
+    }
+
+    private void label(CircuitBoard board, int row, int col, int nextDistance, IntStorage frontier) {
+        if (board.isOpen(row, col) && distance[row][col] == UNREACHED) {
+            distance[row][col] = nextDistance;
+            frontier.store(row * board.numCols() + col);
+        }
+    }
+
+    /**
+     * @param board board to measure
+     * @return distances from the starting component '1'
+     */
+    public static DistanceField fromStart(CircuitBoard board) {
+        return new DistanceField(board, board.getStartingPoint());
+    }
+
+    /**
+     * @param board board to measure
+     * @return distances from the ending component '2'
+     */
+    public static DistanceField fromEnd(CircuitBoard board) {
+        return new DistanceField(board, board.getEndingPoint());
+    }
+
+    /**
+     * @param row row coordinate
+     * @param col column coordinate
+     * @return distance to (row, col), or UNREACHED if it is off the board,
+     * blocked, or cut off from the component
+     */
+    public int distance(int row, int col) {
+        if (row < 0 || row >= distance.length || col < 0 || col >= distance[row].length) {
+            return UNREACHED;
+        }
+        return distance[row][col];
+    }
+
+    /**
+     * Length of the shortest trace connecting the measured component to the
+     * component at target, i.e. the smallest distance among the open neighbors
+     * of target.
+     *
+     * @param target position of the other component
+     * @return shortest trace length, or UNREACHED if no trace exists
+     */
+    public int shortestLength(Point target) {
+        int best = UNREACHED;
+        int[][] neighbors = {{target.x - 1, target.y}, {target.x + 1, target.y},
+            {target.x, target.y - 1}, {target.x, target.y + 1}};
+        for (int[] n : neighbors) {
+            int d = distance(n[0], n[1]);
+            if (d != UNREACHED && (best == UNREACHED || d < best)) {
+                best = d;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Repair the distances after board position (row, col) changed from
+     * blocked to open. The new position takes its distance from its best
+     * neighbor, and only positions that it brings closer are relabelled.
+     *
+     * @param board board this field measures, already edited
+     * @param row row of the opened position
+     * @param col column of the opened position
+     */
+    void opened(CircuitBoard board, int row, int col) {
+        int best = parentDistance(board, row, col, null);
+        if (best == UNREACHED) {
+            return; //still cut off from the component
+        }
+        distance[row][col] = best + 1;
+        int cols = board.numCols();
+        IntStorage frontier = IntStorage.getQueueInstance(); //positions as row * cols + col
+        frontier.store(row * cols + col);
+        while (!frontier.isEmpty()) {
+            int p = frontier.retrieve();
+            int nextDistance = distance[p / cols][p % cols] + 1;
+            for (Point n : neighbors(p / cols, p % cols)) {
+                if (board.isOpen(n.x, n.y)
+                        && (distance[n.x][n.y] == UNREACHED || distance[n.x][n.y] > nextDistance)) {
+                    distance[n.x][n.y] = nextDistance;
+                    frontier.store(n.x * cols + n.y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Repair the distances after open board position (row, col) became
+     * blocked. Positions whose every shortest route ran through it are found
+     * level by level; only they are relabelled, starting from the unaffected
+     * positions around them, so the work is proportional to the affected
+     * region rather than the board.
+     *
+     * @param board board this field measures, already edited
+     * @param row row of the blocked position
+     * @param col column of the blocked position
+     */
+    void blocked(CircuitBoard board, int row, int col) {
+        if (distance[row][col] == UNREACHED) {
+            return; //no route ran through it
+        }
+        HashSet<Point> affected = new HashSet<Point>();
+        ArrayList<Point> order = new ArrayList<Point>();
+        Point cut = new Point(row, col);
+        affected.add(cut);
+        order.add(cut);
+        //in level order, so every parent of a position is classified before the position is checked
+        for (int i = 0; i < order.size(); i++) {
+            Point p = order.get(i);
+            for (Point n : neighbors(p.x, p.y)) {
+                if (board.isOpen(n.x, n.y) && distance[n.x][n.y] == distance[p.x][p.y] + 1
+                        && !affected.contains(n) && !hasParent(board, n.x, n.y, affected)) {
+                    affected.add(n);
+                    order.add(n);
+                }
+            }
+        }
+        for (Point p : order) {
+            distance[p.x][p.y] = UNREACHED;
+        }
+
+        //relabel the affected region from its unaffected border, nearest first
+        PriorityQueue<int[]> pending = new PriorityQueue<int[]>((a, b) -> Integer.compare(a[0], b[0]));
+        for (Point p : order) {
+            int best = (board.isOpen(p.x, p.y) ? parentDistance(board, p.x, p.y, affected) : UNREACHED);
+            if (best != UNREACHED) {
+                pending.add(new int[]{best + 1, p.x, p.y});
+            }
+        }
+        while (!pending.isEmpty()) {
+            int[] next = pending.remove();
+            if (distance[next[1]][next[2]] != UNREACHED) {
+                continue; //already settled at a smaller distance
+            }
+            distance[next[1]][next[2]] = next[0];
+            for (Point n : neighbors(next[1], next[2])) {
+                if (board.isOpen(n.x, n.y) && distance[n.x][n.y] == UNREACHED && affected.contains(n)) {
+                    pending.add(new int[]{next[0] + 1, n.x, n.y});
+                }
+            }
+        }
+    }
+
+    /**
+     * Smallest distance among the labelled neighbors of (row, col), treating
+     * the component itself as distance 0 and ignoring positions in excluded.
+     *
+     * @param excluded positions not to use, may be null
+     * @return distance of the best neighbor, or UNREACHED if there is none
+     */
+    private int parentDistance(CircuitBoard board, int row, int col, HashSet<Point> excluded) {
+        int best = UNREACHED;
+        for (Point n : neighbors(row, col)) {
+            int d = UNREACHED;
+            if (n.equals(source)) {
+                d = 0;
+            } else if (board.isOpen(n.x, n.y) && (excluded == null || !excluded.contains(n))) {
+                d = distance[n.x][n.y];
+            }
+            if (d != UNREACHED && (best == UNREACHED || d < best)) {
+                best = d;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param excluded positions not to use
+     * @return true if (row, col) still has a neighbor outside excluded, or the
+     * component itself, one step closer than it is
+     */
+    private boolean hasParent(CircuitBoard board, int row, int col, HashSet<Point> excluded) {
+        int parent = distance[row][col] - 1;
+        for (Point n : neighbors(row, col)) {
+            if (n.equals(source)) {
+                if (parent == 0) {
+                    return true;
+                }
+            } else if (board.isOpen(n.x, n.y) && !excluded.contains(n) && distance[n.x][n.y] == parent) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the four positions next to (row, col), on or off the board
+     */
+    private static Point[] neighbors(int row, int col) {
+        return new Point[]{new Point(row - 1, col), new Point(row + 1, col),
+            new Point(row, col - 1), new Point(row, col + 1)};
+    }
+} // class DistanceField
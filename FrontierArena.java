@@ -0,0 +1,150 @@
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Append-only store of search states packed into four bytes each, kept in
+ * direct buffers outside the Java heap. A state is its parent's index plus
+ * the 2-bit direction of the step that extends the parent's path, so a path
+ * is recovered by following parents back to the root. States are addressed
+ * by int index in the order they were added; the buffers grow a chunk at a
+ * time and are never moved, compacted or freed, so an arena grows with
+ * every state a search creates until the search is done with it.
+ *
+ * With 30 bits left for the parent, an arena holds just under 2^30 states,
+ * about 4 GB when full. Direct memory is limited by -XX:MaxDirectMemorySize,
+ * so past a given number of bytes the chunks are instead memory-mapped from
+ * a temporary file and paged to disk by the operating system. close()
+ * releases the buffers and deletes that file once the states are no longer
+ * needed.
+ *
+ * @author Daylen Mathews
+ */
+public class FrontierArena {
+
+    /**
+     * parent of the root state
+     */
+    public static final int NO_PARENT = (1 << 30) - 1;
+    /**
+     * most states one arena can hold, keeping every index below NO_PARENT
+     */
+    public static final int MAX_STATES = NO_PARENT;
+
+    private static final int CHUNK_BITS = 20; //4 MB per chunk
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private IntBuffer[] chunks = new IntBuffer[1];
+    private int size;
+    private long directChunks;
+    private File directory;
+    private FileChannel spill;
+    private File spillFile;
+
+    /**
+     * Arena held entirely in direct memory.
+     */
+    public FrontierArena() {
+        this(Long.MAX_VALUE, null);
+    }
+
+    /**
+     * @param directBytes direct memory to use before mapping chunks from a
+     * file
+     * @param directory where to create that file, or null for the default
+     * temporary directory
+     */
+    public FrontierArena(long directBytes, File directory) {
+        directChunks = directBytes / (CHUNK_SIZE * Integer.BYTES);
+        this.directory = directory;
+    }
+
+    /**
+     * Add a state to the arena.
+     *
+     * @param parent index of the state this one extends, or NO_PARENT
+     * @param move direction of the step from the parent, 0 to 3
+     * @return index of the new state
+     * @throws IllegalStateException if the arena already holds MAX_STATES
+     * @throws UncheckedIOException if a chunk cannot be mapped from the file
+     */
+    public int add(int parent, int move) {
+        if (size == MAX_STATES) {
+            throw new IllegalStateException("frontier arena is full at " + MAX_STATES + " states");
+        }
+        int chunk = size >>> CHUNK_BITS;
+        if (chunk == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = (chunk < directChunks ? ByteBuffer.allocateDirect(CHUNK_SIZE * Integer.BYTES).asIntBuffer()
+                    : mapChunk(chunk));
+        }
+        chunks[chunk].put(size & (CHUNK_SIZE - 1), parent << 2 | (move & 3));
+        return size++;
+    }
+
+    /**
+     * @return chunk of the spill file, created on first use
+     */
+    private IntBuffer mapChunk(int chunk) {
+        try {
+            if (spill == null) {
+                spillFile = File.createTempFile("arena", ".spill", directory);
+                spillFile.deleteOnExit();
+                spill = FileChannel.open(spillFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            long bytes = (long) CHUNK_SIZE * Integer.BYTES;
+            return spill.map(FileChannel.MapMode.READ_WRITE, (chunk - directChunks) * bytes, bytes).asIntBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot map frontier arena chunk", e);
+        }
+    }
+
+    /**
+     * @param state index of a state
+     * @return index of the state it extends, or NO_PARENT
+     */
+    public int parentOf(int state) {
+        return chunks[state >>> CHUNK_BITS].get(state & (CHUNK_SIZE - 1)) >>> 2;
+    }
+
+    /**
+     * @param state index of a state
+     * @return direction of the step from its parent, 0 to 3
+     */
+    public int moveOf(int state) {
+        return chunks[state >>> CHUNK_BITS].get(state & (CHUNK_SIZE - 1)) & 3;
+    }
+
+    /**
+     * @return number of states added
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Drop every state, close the spill file and delete it. The arena is
+     * empty afterwards and can be filled again.
+     */
+    public void close() {
+        chunks = new IntBuffer[1];
+        size = 0;
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                //the file is only scratch space
+            }
+            spillFile.delete();
+            spill = null;
+        }
+    }
+} // class FrontierArena
@@ -0,0 +1,97 @@
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Depth-first search for all shortest paths that works on one mutable copy
+ * of the board instead of a stack of TraceStates. Stepping forward marks the
+ * new position with makeTrace() and stepping back clears it with
+ * unmakeTrace(), while the current path and the next direction to try at
+ * each depth live in two int arrays. Nothing is allocated while searching;
+ * a TraceState is built only for a solution that ties or beats the best
+ * length found so far.
+ *
+ * Neighbors are tried in the order a Storage stack would retrieve them in
+ * CircuitTracer, and a branch is cut under the same Manhattan bound, so the
+ * solutions come out in the same order as the -s search.
+ *
+ * @author Daylen Mathews
+ */
+public class InPlaceSearch {
+
+    /**
+     * directions from the starting component, in stack retrieval order
+     */
+    private static final int[] START_ROW_STEP = {0, 0, -1, 1};
+    private static final int[] START_COL_STEP = {-1, 1, 0, 0};
+    /**
+     * directions from a trace position, in stack retrieval order
+     */
+    private static final int[] ROW_STEP = {0, 0, 1, -1};
+    private static final int[] COL_STEP = {1, -1, 0, 0};
+
+    private CircuitBoard board;
+    private CircuitBoard traced;
+    private int cols;
+    private int endRow;
+    private int endCol;
+
+    /**
+     * @param board board to search, left unchanged
+     */
+    public InPlaceSearch(CircuitBoard board) {
+        this.board = board;
+        traced = new CircuitBoard(board);
+        cols = board.numCols();
+        endRow = board.getEndingIndex() / cols;
+        endCol = board.getEndingIndex() % cols;
+    }
+
+    /**
+     * @return all shortest solutions, in the order they were found
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        int bestLength = Integer.MAX_VALUE;
+        //path[0] is the starting component, path[1..depth] the traces on the board
+        int[] path = new int[board.numRows() * cols + 1];
+        int[] nextDirection = new int[path.length];
+        int depth = 0;
+        path[0] = board.getStartingIndex();
+        while (depth >= 0) {
+            int row = path[depth] / cols;
+            int col = path[depth] % cols;
+            if (nextDirection[depth] == ROW_STEP.length) {
+                if (depth > 0) {
+                    traced.unmakeTrace(row, col);
+                }
+                depth--;
+                continue;
+            }
+            int dir = nextDirection[depth]++;
+            int nextRow = row + (depth == 0 ? START_ROW_STEP[dir] : ROW_STEP[dir]);
+            int nextCol = col + (depth == 0 ? START_COL_STEP[dir] : COL_STEP[dir]);
+            if (!traced.isOpen(nextRow, nextCol)) {
+                continue;
+            }
+            int length = depth + 1;
+            int distance = Math.abs(nextRow - endRow) + Math.abs(nextCol - endCol);
+            if (length + distance - 1 > bestLength) {
+                continue; //cannot tie the best path
+            }
+            path[length] = nextRow * cols + nextCol;
+            if (distance == 1) {
+                if (length < bestLength) {
+                    bestPaths.clear();
+                    bestLength = length;
+                }
+                bestPaths.add(new TraceState(board, Arrays.copyOfRange(path, 1, length + 1)));
+            } else {
+                traced.makeTrace(nextRow, nextCol);
+                depth = length;
+                nextDirection[depth] = 0;
+            }
+        }
+        return bestPaths;
+    }
+} // class InPlaceSearch
@@ -0,0 +1,249 @@
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * IntStorage, stack or queue, kept in fixed-size segments so that it can
+ * hold more indices than fit in memory. Once the segments in memory exceed a
+ * budget, the one that will be retrieved last is written to a temporary
+ * spill file through a memory-mapped region and dropped from the heap: the
+ * oldest for a stack, the newest before the one being filled for a queue.
+ * The segments at the retrieving and storing ends always stay in memory, and
+ * a spilled segment is mapped back in when retrieval reaches it.
+ *
+ * The spill file is divided into slots of one full segment each. A segment
+ * read back frees its slot for the next one spilled, so the file never holds
+ * more slots than segments were spilled at the same time, whatever the
+ * total volume that passes through it. It is truncated whenever no spilled
+ * segment is left, and deleted when the frontier empties or the JVM exits.
+ *
+ * @author Daylen Mathews
+ */
+public final class IndexFrontier implements IntStorage {
+
+    /**
+     * indices per segment, 256 KB
+     */
+    public static final int SEGMENT_SIZE = 1 << 16;
+    private static final long SLOT_BYTES = (long) SEGMENT_SIZE * Integer.BYTES;
+
+    private boolean lifo;
+    private int budget;
+    private File directory;
+    private ArrayDeque<Segment> segments = new ArrayDeque<Segment>();
+    private long size;
+    private int segmentsInMemory;
+    private FileChannel spill;
+    private File spillFile;
+    private int slots;	//slots in the spill file, used or free
+    private IntStorage freeSlots = IntStorage.getStackInstance();	//slots whose segment was read back
+    private int segmentsSpilled;	//spilled segments not yet read back
+    private long spilledSegments;
+
+    /**
+     * Frontier that never spills.
+     *
+     * @param lifo true to retrieve as a stack, false as a queue
+     */
+    public IndexFrontier(boolean lifo) {
+        this(lifo, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @param lifo true to retrieve as a stack, false as a queue
+     * @param budget most indices to keep in memory, rounded up to two
+     * segments at least
+     * @param directory where to create the spill file, or null for the
+     * default temporary directory
+     */
+    public IndexFrontier(boolean lifo, int budget, File directory) {
+        this.lifo = lifo;
+        this.budget = Math.max(2, (int) Math.min(Integer.MAX_VALUE, ((long) budget + SEGMENT_SIZE - 1) / SEGMENT_SIZE));
+        this.directory = directory;
+    }
+
+    /**
+     * @param index int to store
+     * @throws UncheckedIOException if a segment cannot be spilled
+     */
+    @Override
+    public void store(int index) {
+        Segment last = segments.peekLast();
+        if (last == null || last.values == null || last.end == SEGMENT_SIZE) {
+            last = new Segment();
+            segments.addLast(last);
+            segmentsInMemory++;
+            if (segmentsInMemory > budget) {
+                spillOne();
+            }
+        }
+        last.values[last.end++] = index;
+        size++;
+    }
+
+    /**
+     * @return next index, the last stored for a stack or the first for a
+     * queue
+     * @throws NoSuchElementException if no index is stored
+     * @throws UncheckedIOException if a spilled segment cannot be read back
+     */
+    @Override
+    public int retrieve() {
+        if (size == 0) {
+            throw new NoSuchElementException("no index stored");
+        }
+        Segment segment = (lifo ? segments.peekLast() : segments.peekFirst());
+        if (segment.values == null) {
+            load(segment);
+        }
+        int next = (lifo ? segment.values[--segment.end] : segment.values[segment.start++]);
+        size--;
+        if (segment.start == segment.end) {
+            if (lifo) {
+                segments.removeLast();
+            } else {
+                segments.removeFirst();
+            }
+            segmentsInMemory--;
+            if (size == 0) {
+                closeSpill();
+            }
+        }
+        return next;
+    }
+
+    /**
+     * @return number of indices stored, in memory or spilled
+     */
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return number of segments written to the spill file so far
+     */
+    public long spilledSegments() {
+        return spilledSegments;
+    }
+
+    /**
+     * @return current length of the spill file in bytes, 0 if there is none
+     */
+    public long spillFileBytes() {
+        return (spill == null ? 0 : spillFile.length());
+    }
+
+    /**
+     * Spill the in-memory segment that will be retrieved last, leaving both
+     * ends alone.
+     */
+    private void spillOne() {
+        //oldest first for a stack, newest first for a queue, skipping the storing end (the last
+        //segment) and, for a queue, the retrieving end (the first)
+        Iterator<Segment> order = (lifo ? segments.iterator() : segments.descendingIterator());
+        Segment retrieving = (lifo ? segments.peekLast() : segments.peekFirst());
+        Segment victim = null;
+        while (order.hasNext() && victim == null) {
+            Segment candidate = order.next();
+            if (candidate.values != null && candidate != retrieving && candidate != segments.peekLast()) {
+                victim = candidate;
+            }
+        }
+        if (victim == null) {
+            return; //only the two ends are in memory
+        }
+        try {
+            if (spill == null) {
+                spillFile = File.createTempFile("frontier", ".spill", directory);
+                spillFile.deleteOnExit();
+                spill = FileChannel.open(spillFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            int slot = (freeSlots.isEmpty() ? slots++ : freeSlots.retrieve());
+            long bytes = (long) (victim.end - victim.start) * Integer.BYTES;
+            if (bytes > 0) {
+                IntBuffer region = spill.map(FileChannel.MapMode.READ_WRITE, slot * SLOT_BYTES, bytes).asIntBuffer();
+                region.put(victim.values, victim.start, victim.end - victim.start);
+            }
+            victim.slot = slot;
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot spill frontier segment", e);
+        }
+        victim.end -= victim.start;
+        victim.start = 0;
+        victim.values = null;
+        segmentsInMemory--;
+        segmentsSpilled++;
+        spilledSegments++;
+    }
+
+    /**
+     * Map a spilled segment back into memory, which may spill another.
+     */
+    private void load(Segment segment) {
+        int count = segment.end;
+        segment.values = new int[SEGMENT_SIZE];
+        try {
+            if (count > 0) {
+                spill.map(FileChannel.MapMode.READ_ONLY, segment.slot * SLOT_BYTES, (long) count * Integer.BYTES)
+                        .asIntBuffer().get(segment.values, 0, count);
+            }
+            segmentsSpilled--;
+            if (segmentsSpilled == 0) {
+                //nothing spilled is left, start the file over
+                spill.truncate(0);
+                slots = 0;
+                freeSlots = IntStorage.getStackInstance();
+            } else {
+                freeSlots.store(segment.slot);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot read back frontier segment", e);
+        }
+        segmentsInMemory++;
+        if (segmentsInMemory > budget) {
+            spillOne();
+        }
+    }
+
+    /**
+     * Delete the spill file once the frontier is empty.
+     */
+    private void closeSpill() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                //the file is only scratch space
+            }
+            spillFile.delete();
+            spill = null;
+            slots = 0;
+            freeSlots = IntStorage.getStackInstance();
+        }
+    }
+
+    /**
+     * Run of stored indices, values[start, end), or spilled to a slot of the
+     * spill file with values null and end holding its length.
+     */
+    private static class Segment {
+
+        private int[] values = new int[SEGMENT_SIZE];
+        private int start;
+        private int end;
+        private int slot;
+    }
+} // class IndexFrontier
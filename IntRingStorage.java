@@ -0,0 +1,59 @@
+import java.util.NoSuchElementException;
+
+/**
+ * IntStorage held in one int array used as a ring, doubling when full. A
+ * stack takes from the end it stores at, a queue from the other end.
+ *
+ * @author Daylen Mathews
+ */
+public final class IntRingStorage implements IntStorage {
+
+    private boolean lifo;
+    private int[] ring = new int[16];
+    private int first;
+    private int count;
+
+    /**
+     * @param lifo true to retrieve as a stack, false as a queue
+     */
+    public IntRingStorage(boolean lifo) {
+        this.lifo = lifo;
+    }
+
+    @Override
+    public void store(int index) {
+        if (count == ring.length) {
+            int[] grown = new int[ring.length * 2];
+            for (int i = 0; i < count; i++) {
+                grown[i] = ring[(first + i) & (ring.length - 1)];
+            }
+            ring = grown;
+            first = 0;
+        }
+        ring[(first + count++) & (ring.length - 1)] = index;
+    }
+
+    @Override
+    public int retrieve() {
+        if (count == 0) {
+            throw new NoSuchElementException("no index stored");
+        }
+        count--;
+        if (lifo) {
+            return ring[(first + count) & (ring.length - 1)];
+        }
+        int next = ring[first];
+        first = (first + 1) & (ring.length - 1);
+        return next;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public long size() {
+        return count;
+    }
+} // class IntRingStorage
@@ -0,0 +1,58 @@
+import java.io.File;
+
+/**
+ * Storage for plain int indices, such as packed row * cols + col positions
+ * or FrontierArena states, without boxing them. Each data structure has its
+ * own final implementation, got through the static methods here.
+ *
+ * @author Daylen Mathews
+ */
+public interface IntStorage {
+
+    /**
+     * @return IntStorage retrieving the most recently stored index first
+     */
+    public static IntStorage getStackInstance() {
+        return new IntRingStorage(true);
+    }
+
+    /**
+     * @return IntStorage retrieving the earliest stored index first
+     */
+    public static IntStorage getQueueInstance() {
+        return new IntRingStorage(false);
+    }
+
+    /**
+     * @param lifo true to retrieve as a stack, false as a queue
+     * @param budget most indices to hold in memory before spilling the rest
+     * to memory-mapped files
+     * @param directory where to put spill files, or null for the default
+     * temporary directory
+     * @return IntStorage that spills to disk past budget
+     */
+    public static IntStorage getSpillingInstance(boolean lifo, int budget, File directory) {
+        return new IndexFrontier(lifo, budget, directory);
+    }
+
+    /**
+     * @param index int to store
+     */
+    public void store(int index);
+
+    /**
+     * @return next index from storage
+     * @throws java.util.NoSuchElementException if storage is empty
+     */
+    public int retrieve();
+
+    /**
+     * @return true if store is empty, else false
+     */
+    public boolean isEmpty();
+
+    /**
+     * @return size of store
+     */
+    public long size();
+} // interface IntStorage
@@ -0,0 +1,131 @@
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Finds all shortest paths between the components of a CircuitBoard with
+ * iterative deepening: a depth-first search that only accepts traces of
+ * exactly a given length, repeated with longer and longer limits until one
+ * succeeds. Only the current path is held in memory, as an array of
+ * positions plus a mark on each one, so unlike a queue of TraceStates no
+ * board is ever copied until a solution is found.
+ *
+ * The first limit is the Manhattan lower bound, and a branch is cut as soon
+ * as its length plus the Manhattan distance left exceeds the limit. Every
+ * step on the grid changes the parity of row + col, so a trace between the
+ * components always has the same parity as that bound and the limit grows
+ * two positions at a time.
+ *
+ * @author Daylen Mathews
+ */
+public class IterativeDeepeningSearch {
+
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    private CircuitBoard board;
+    private Point start;
+    private Point end;
+    /**
+     * true for every position on the current path
+     */
+    private boolean[][] onPath;
+    private int iterations;
+
+    /**
+     * @param board board to search
+     */
+    public IterativeDeepeningSearch(CircuitBoard board) {
+        this.board = board;
+        start = board.getStartingPoint();
+        end = board.getEndingPoint();
+        onPath = new boolean[board.numRows()][board.numCols()];
+    }
+
+    /**
+     * Deepen the limit until some trace reaches '2' or a search finishes
+     * without cutting off any branch.
+     *
+     * @return all shortest solutions
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        int limit = distanceToEnd(start.x, start.y) - 1;
+        if (limit < 1) {
+            limit += 2; //a trace needs at least one position
+        }
+        boolean cutoff = true;
+        iterations = 0;
+        while (bestPaths.isEmpty() && cutoff) {
+            iterations++;
+            cutoff = searchToDepth(limit, bestPaths);
+            limit += 2;
+        }
+        return bestPaths;
+    }
+
+    /**
+     * Depth-first search for traces of exactly limit positions.
+     *
+     * @param limit number of positions every trace must have
+     * @param bestPaths list to add the traces found to
+     * @return true if any branch was cut off by the limit, so a longer limit
+     * could still find traces
+     */
+    private boolean searchToDepth(int limit, ArrayList<TraceState> bestPaths) {
+        boolean cutoff = false;
+        Point[] path = new Point[limit];
+        int[] nextDirection = new int[limit + 1];
+        int depth = 0; //number of positions currently in path
+        while (depth >= 0) {
+            if (depth == limit) {
+                //within the bound, a full path always ends next to '2'
+                bestPaths.add(new TraceState(board, Arrays.asList(path)));
+                depth--;
+                onPath[path[depth].x][path[depth].y] = false;
+                continue;
+            }
+            Point p = (depth == 0 ? start : path[depth - 1]);
+            Point next = null;
+            while (next == null && nextDirection[depth] < ROW_STEP.length) {
+                int row = p.x + ROW_STEP[nextDirection[depth]];
+                int col = p.y + COL_STEP[nextDirection[depth]];
+                nextDirection[depth]++;
+                if (board.isOpen(row, col) && !onPath[row][col]) {
+                    if (depth + distanceToEnd(row, col) > limit) {
+                        cutoff = true;
+                    } else {
+                        next = new Point(row, col);
+                    }
+                }
+            }
+            if (next == null) {
+                depth--;
+                if (depth >= 0) {
+                    onPath[path[depth].x][path[depth].y] = false;
+                }
+            } else {
+                path[depth] = next;
+                onPath[next.x][next.y] = true;
+                depth++;
+                nextDirection[depth] = 0;
+            }
+        }
+        return cutoff;
+    }
+
+    /**
+     * @return Manhattan distance from (row, col) to '2'
+     */
+    private int distanceToEnd(int row, int col) {
+        return Math.abs(row - end.x) + Math.abs(col - end.y);
+    }
+
+    /**
+     * @return number of depth limits searched by the last findBestPaths()
+     */
+    public int iterations() {
+        return iterations;
+    }
+} // class IterativeDeepeningSearch
@@ -0,0 +1,295 @@
+
+import java.awt.Point;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Finds all shortest paths between the components of a CircuitBoard without
+ * searching through every simple path. One breadth-first pass from each
+ * component labels every open position with its distance from '1' and from
+ * '2'. A position lies on some shortest path exactly when those distances add
+ * up to the shortest length, and consecutive positions of a shortest path
+ * step one layer further from '1' and one closer to '2'. Following only those
+ * steps enumerates each shortest path once and never wanders into a dead end.
+ *
+ * @author Daylen Mathews
+ */
+public class LayeredSearch {
+
+    /**
+     * row and column offsets to the four neighbors, in the order they are tried
+     */
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    private CircuitBoard board;
+    private DistanceField fromStart;
+    private DistanceField fromEnd;
+    private int shortestLength;
+
+    /**
+     * Label every open position of board with its distance to both
+     * components.
+     *
+     * @param board board to search
+     */
+    public LayeredSearch(CircuitBoard board) {
+        this(board, DistanceField.fromStart(board), DistanceField.fromEnd(board));
+    }
+
+    /**
+     * Search the layers of distance fields computed elsewhere, e.g. by
+     * ParallelWavefront.
+     *
+     * @param board board to search
+     * @param fromStart distances from the starting component
+     * @param fromEnd distances from the ending component
+     */
+    public LayeredSearch(CircuitBoard board, DistanceField fromStart, DistanceField fromEnd) {
+        this.board = board;
+        this.fromStart = fromStart;
+        this.fromEnd = fromEnd;
+        shortestLength = fromStart.shortestLength(board.getEndingPoint());
+    }
+
+    /**
+     * @return number of traces in a shortest path, or DistanceField.UNREACHED
+     * if the components cannot be connected
+     */
+    public int shortestLength() {
+        return shortestLength;
+    }
+
+    /**
+     * Check whether (row, col) is the given step of some shortest path.
+     *
+     * @param row row coordinate
+     * @param col column coordinate
+     * @param step 1-based position along the path
+     * @return true if a shortest path has its step'th trace at (row, col)
+     */
+    private boolean isLayer(int row, int col, int step) {
+        return fromStart.distance(row, col) == step && fromEnd.distance(row, col) == shortestLength - step + 1;
+    }
+
+    /**
+     * Count the shortest paths without enumerating them. The number of ways to
+     * reach a position on a shortest path is the sum of the ways to reach its
+     * neighbors in the previous layer, so one pass over the layers in order
+     * counts every path in O(rows * cols) time. Counting is done in long
+     * arithmetic and repeated with BigInteger only if that overflows.
+     *
+     * @return number of shortest paths, 0 if the components cannot be
+     * connected
+     */
+    public BigInteger countShortestPaths() {
+        if (shortestLength == DistanceField.UNREACHED) {
+            return BigInteger.ZERO;
+        }
+        int[][] layers = layerPositions();
+        try {
+            long[][] ways = new long[board.numRows()][board.numCols()];
+            long total = 0;
+            for (int step = 1; step <= shortestLength; step++) {
+                for (int cell : layers[step]) {
+                    int row = cell / board.numCols();
+                    int col = cell % board.numCols();
+                    long count = (step == 1 ? 1 : 0);
+                    for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                        if (isLayer(row + ROW_STEP[dir], col + COL_STEP[dir], step - 1)) {
+                            count = Math.addExact(count, ways[row + ROW_STEP[dir]][col + COL_STEP[dir]]);
+                        }
+                    }
+                    ways[row][col] = count;
+                    if (step == shortestLength) {
+                        total = Math.addExact(total, count);
+                    }
+                }
+            }
+            return BigInteger.valueOf(total);
+        } catch (ArithmeticException overflow) {
+            BigInteger[][] ways = new BigInteger[board.numRows()][board.numCols()];
+            BigInteger total = BigInteger.ZERO;
+            for (int step = 1; step <= shortestLength; step++) {
+                for (int cell : layers[step]) {
+                    int row = cell / board.numCols();
+                    int col = cell % board.numCols();
+                    BigInteger count = (step == 1 ? BigInteger.ONE : BigInteger.ZERO);
+                    for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                        if (isLayer(row + ROW_STEP[dir], col + COL_STEP[dir], step - 1)) {
+                            count = count.add(ways[row + ROW_STEP[dir]][col + COL_STEP[dir]]);
+                        }
+                    }
+                    ways[row][col] = count;
+                    if (step == shortestLength) {
+                        total = total.add(count);
+                    }
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Bucket the positions that lie on shortest paths by their step along the
+     * path.
+     *
+     * @return for each step 1..shortestLength, the packed row * cols + col
+     * positions of that layer
+     */
+    private int[][] layerPositions() {
+        int[] sizes = new int[shortestLength + 1];
+        for (int row = 0; row < board.numRows(); row++) {
+            for (int col = 0; col < board.numCols(); col++) {
+                int step = fromStart.distance(row, col);
+                if (step >= 1 && step <= shortestLength && isLayer(row, col, step)) {
+                    sizes[step]++;
+                }
+            }
+        }
+        int[][] layers = new int[shortestLength + 1][];
+        for (int step = 0; step <= shortestLength; step++) {
+            layers[step] = new int[sizes[step]];
+            sizes[step] = 0;
+        }
+        for (int row = 0; row < board.numRows(); row++) {
+            for (int col = 0; col < board.numCols(); col++) {
+                int step = fromStart.distance(row, col);
+                if (step >= 1 && step <= shortestLength && isLayer(row, col, step)) {
+                    layers[step][sizes[step]++] = row * board.numCols() + col;
+                }
+            }
+        }
+        return layers;
+    }
+
+    /**
+     * Enumerate every shortest path by walking the layers depth first.
+     *
+     * @return all shortest solutions
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        PathWalker walker = new PathWalker();
+        while (walker.hasNext()) {
+            bestPaths.add(new TraceState(board, Arrays.asList(walker.next())));
+        }
+        return bestPaths;
+    }
+
+    /**
+     * Lazily enumerate the solved boards. The shortest length is settled
+     * before the walk begins, so each board is handed out the moment its path
+     * is complete and only the path being walked is held in memory. Stop
+     * early simply by no longer calling next().
+     *
+     * @return iterator over a solved copy of the board for each shortest path
+     */
+    public Iterator<CircuitBoard> solutions() {
+        PathWalker walker = new PathWalker();
+        return new Iterator<CircuitBoard>() {
+            @Override
+            public boolean hasNext() {
+                return walker.hasNext();
+            }
+
+            @Override
+            public CircuitBoard next() {
+                CircuitBoard solved = new CircuitBoard(board);
+                for (Point p : walker.next()) {
+                    solved.makeTrace(p.x, p.y);
+                }
+                return solved;
+            }
+        };
+    }
+
+    /**
+     * Stream view of solutions(), e.g. stream().limit(n) for the first n
+     * solutions.
+     *
+     * @return sequential, ordered stream of solved boards
+     */
+    public Stream<CircuitBoard> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(solutions(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Walks the layers depth first, stopping at each complete shortest path.
+     */
+    private class PathWalker implements Iterator<Point[]> {
+
+        private Point start = board.getStartingPoint();
+        private Point[] path;
+        private int[] nextDirection;
+        private int depth; //number of traces currently in path, -1 when done
+        private boolean ready; //path holds a complete path not yet returned
+
+        PathWalker() {
+            if (shortestLength == DistanceField.UNREACHED) {
+                depth = -1;
+            } else {
+                path = new Point[shortestLength];
+                nextDirection = new int[shortestLength + 1];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!ready) {
+                advance();
+            }
+            return ready;
+        }
+
+        @Override
+        public Point[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            return path.clone();
+        }
+
+        /**
+         * Move to the next complete path, if there is one.
+         */
+        private void advance() {
+            while (depth >= 0) {
+                if (depth == shortestLength) {
+                    depth--; //resume after the previously returned path
+                    continue;
+                }
+                Point from = (depth == 0 ? start : path[depth - 1]);
+                Point next = null;
+                while (next == null && nextDirection[depth] < ROW_STEP.length) {
+                    int row = from.x + ROW_STEP[nextDirection[depth]];
+                    int col = from.y + COL_STEP[nextDirection[depth]];
+                    nextDirection[depth]++;
+                    if (isLayer(row, col, depth + 1)) {
+                        next = new Point(row, col);
+                    }
+                }
+                if (next == null) {
+                    depth--; //all neighbors tried, back up
+                } else {
+                    path[depth] = next;
+                    depth++;
+                    nextDirection[depth] = 0;
+                    if (depth == shortestLength) {
+                        ready = true;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+} // class LayeredSearch
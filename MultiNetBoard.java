@@ -0,0 +1,191 @@
+
+import java.awt.Point;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Scanner;
+import java.util.TreeMap;
+
+/**
+ * A 2D circuit board holding any number of component pairs (nets), read from
+ * an extended input file. The format matches CircuitBoard's, except that in
+ * place of '1' and '2' every net is a letter or digit label, other than 'O',
+ * 'X' and 'T', appearing on exactly two positions. A file with a single '1'
+ * and a single '2' is also accepted, as one net labelled '1', so every
+ * CircuitBoard input is a valid MultiNetBoard input.
+ *
+ * @author Daylen Mathews
+ */
+public class MultiNetBoard {
+
+    private static final char OPEN = 'O';
+    private static final char CLOSED = 'X';
+    private static final char TRACE = 'T';
+
+    /**
+     * contents of the board as read, traces are never stored here
+     */
+    private char[][] board;
+    private ArrayList<Net> nets = new ArrayList<Net>();
+    private final int ROWS;
+    private final int COLS;
+
+    /**
+     * Construct a MultiNetBoard from a given board input file.
+     *
+     * @param filename file containing a grid of characters
+     * @throws FileNotFoundException if Scanner cannot open or read the file
+     * @throws InvalidFileFormatException for any file formatting or content
+     * issue
+     */
+    public MultiNetBoard(String filename) throws FileNotFoundException {
+        Scanner fileScan = new Scanner(new File(filename));
+        try {
+            board = BoardFileReader.readGrid(fileScan, filename, MultiNetBoard::isAllowed);
+            ROWS = board.length;
+            COLS = board[0].length;
+
+            TreeMap<Character, ArrayList<Point>> terminals = new TreeMap<Character, ArrayList<Point>>();
+            for (int row = 0; row < ROWS; row++) {
+                for (int col = 0; col < COLS; col++) {
+                    if (board[row][col] != OPEN && board[row][col] != CLOSED) {
+                        terminals.computeIfAbsent(board[row][col], label -> new ArrayList<Point>())
+                                .add(new Point(row, col));
+                    }
+                }
+            }
+            if (fileScan.hasNext()) {
+                throw new InvalidFileFormatException(filename + " contains more than " + ROWS + " rows.");
+            }
+
+            //a classic '1' and '2' board is a single net
+            ArrayList<Point> ones = terminals.get('1');
+            ArrayList<Point> twos = terminals.get('2');
+            if (ones != null && twos != null && ones.size() == 1 && twos.size() == 1) {
+                ones.add(twos.get(0));
+                terminals.remove('2');
+            }
+            for (Character label : terminals.keySet()) {
+                ArrayList<Point> ends = terminals.get(label);
+                if (ends.size() != 2) {
+                    throw new InvalidFileFormatException(
+                            filename + " net " + label + " does not have exactly two components.");
+                }
+                nets.add(new Net(label, ends.get(0), ends.get(1)));
+            }
+            if (nets.isEmpty()) {
+                throw new InvalidFileFormatException(filename + " does not contain any nets.");
+            }
+        } finally {
+            fileScan.close();
+        }
+    }
+
+    /**
+     * @return true if c may appear in an input file
+     */
+    private static boolean isAllowed(int c) {
+        return c == OPEN || c == CLOSED || (Character.isLetterOrDigit(c) && c < 128 && c != TRACE);
+    }
+
+    /**
+     * @param row
+     * @param col
+     * @return char at row, col
+     */
+    public char charAt(int row, int col) {
+        return board[row][col];
+    }
+
+    /**
+     * @param row
+     * @param col
+     * @return true if position at (row, col) is on the board and open
+     */
+    public boolean isOpen(int row, int col) {
+        if (row < 0 || row >= ROWS || col < 0 || col >= COLS) {
+            return false;
+        }
+        return board[row][col] == OPEN;
+    }
+
+    /**
+     * @return number of rows in this board
+     */
+    public int numRows() {
+        return ROWS;
+    }
+
+    /**
+     * @return number of columns in this board
+     */
+    public int numCols() {
+        return COLS;
+    }
+
+    /**
+     * @return number of nets on this board
+     */
+    public int netCount() {
+        return nets.size();
+    }
+
+    /**
+     * @param index net index, nets are ordered by label
+     * @return the net at index
+     */
+    public Net getNet(int index) {
+        return nets.get(index);
+    }
+
+    /* (non-Javadoc)
+	 * @see java.lang.Object#toString()
+     */
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                str.append(board[row][col] + " ");
+            }
+            str.append("\n");
+        }
+        return str.toString();
+    }
+
+    /**
+     * One labelled pair of components that must be connected.
+     */
+    public static class Net {
+
+        private char label;
+        private Point source;
+        private Point sink;
+
+        Net(char label, Point source, Point sink) {
+            this.label = label;
+            this.source = source;
+            this.sink = sink;
+        }
+
+        /**
+         * @return character marking both components of this net
+         */
+        public char getLabel() {
+            return label;
+        }
+
+        /**
+         * @return position of the component traces start from
+         */
+        public Point getSource() {
+            return new Point(source);
+        }
+
+        /**
+         * @return position of the component traces end next to
+         */
+        public Point getSink() {
+            return new Point(sink);
+        }
+    }
+} // class MultiNetBoard
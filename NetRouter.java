@@ -0,0 +1,343 @@
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Routes every net of a MultiNetBoard on one shared grid by negotiated
+ * congestion. Each pass routes nets one at a time along their cheapest
+ * trace, where a position costs more the more other nets currently use it
+ * and the more often it has been fought over in earlier passes. Nets are
+ * allowed to overlap while they negotiate; after each pass every overused
+ * position grows more expensive, and only the nets crossing one are ripped
+ * up and rerouted, most congested first. Routing succeeds once a pass ends
+ * with no position used by more than one net.
+ *
+ * @author Daylen Mathews
+ */
+public class NetRouter {
+
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+    /**
+     * maximum number of negotiation passes before giving up
+     */
+    private static final int MAX_PASSES = 50;
+    /**
+     * cost factor per other net sharing a position, on the first pass and
+     * the growth of that factor with each pass
+     */
+    private static final double INITIAL_SHARING_COST = 0.5;
+    private static final double SHARING_GROWTH = 1.5;
+    /**
+     * cost added to a position for each extra net on it at the end of a pass
+     */
+    private static final double HISTORY_STEP = 1.0;
+    /**
+     * shown by toString() on positions used by more than one net's trace
+     */
+    public static final char SHARED = '*';
+    /**
+     * trace marks for nets whose label has no free opposite case, in net
+     * order, before falling back to 'T'
+     */
+    private static final String SPARE_MARKS = "#+=%&@$~";
+
+    private MultiNetBoard board;
+    private int rows;
+    private int cols;
+    /**
+     * number of nets whose current trace uses each position
+     */
+    private int[][] occupancy;
+    /**
+     * accumulated cost of congestion on each position in earlier passes
+     */
+    private double[][] history;
+    /**
+     * current trace of each net, null if the net cannot be connected at all
+     */
+    private ArrayList<ArrayList<Point>> traces = new ArrayList<ArrayList<Point>>();
+    private int passes;
+    private boolean routed;
+
+    /**
+     * Negotiate traces for every net of board.
+     *
+     * @param board board to route
+     */
+    public NetRouter(MultiNetBoard board) {
+        this.board = board;
+        rows = board.numRows();
+        cols = board.numCols();
+        occupancy = new int[rows][cols];
+        history = new double[rows][cols];
+        ArrayList<Integer> order = new ArrayList<Integer>();
+        for (int net = 0; net < board.netCount(); net++) {
+            traces.add(null);
+            order.add(net);
+        }
+        //short nets have the fewest alternatives, so they claim positions first
+        order.sort(Comparator.comparingInt(net -> span(board.getNet(net))));
+
+        double sharingCost = INITIAL_SHARING_COST;
+        for (passes = 1; passes <= MAX_PASSES; passes++) {
+            for (int net : order) {
+                if (passes == 1 || overusedPositions(net) > 0) {
+                    ripUp(net);
+                    traces.set(net, cheapestTrace(board.getNet(net), sharingCost));
+                    claim(net);
+                }
+            }
+            boolean overused = false;
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    if (occupancy[row][col] > 1) {
+                        history[row][col] += HISTORY_STEP * (occupancy[row][col] - 1);
+                        overused = true;
+                    }
+                }
+            }
+            if (!overused) {
+                routed = true;
+                break;
+            }
+            //the most congested nets get the first pick of the next pass
+            order.sort(Comparator.comparingInt((Integer net) -> overusedPositions(net)).reversed());
+            sharingCost *= SHARING_GROWTH;
+        }
+        passes = Math.min(passes, MAX_PASSES);
+    }
+
+    /**
+     * @return Manhattan distance between the components of net
+     */
+    private static int span(MultiNetBoard.Net net) {
+        return Math.abs(net.getSource().x - net.getSink().x) + Math.abs(net.getSource().y - net.getSink().y);
+    }
+
+    /**
+     * @return number of positions on the trace of net used by more than one net
+     */
+    private int overusedPositions(int net) {
+        int count = 0;
+        if (traces.get(net) != null) {
+            for (Point p : traces.get(net)) {
+                if (occupancy[p.x][p.y] > 1) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void ripUp(int net) {
+        if (traces.get(net) != null) {
+            for (Point p : traces.get(net)) {
+                occupancy[p.x][p.y]--;
+            }
+        }
+    }
+
+    private void claim(int net) {
+        if (traces.get(net) != null) {
+            for (Point p : traces.get(net)) {
+                occupancy[p.x][p.y]++;
+            }
+        }
+    }
+
+    /**
+     * @return cost of adding (row, col) to a trace given the nets already on it
+     */
+    private double positionCost(int row, int col, double sharingCost) {
+        return (1.0 + history[row][col]) * (1.0 + sharingCost * occupancy[row][col]);
+    }
+
+    /**
+     * Dijkstra's algorithm over the open positions from the source of net to
+     * the first position adjacent to its sink.
+     *
+     * @return cheapest trace in order from the source, or null if the sink
+     * cannot be reached
+     */
+    private ArrayList<Point> cheapestTrace(MultiNetBoard.Net net, double sharingCost) {
+        Point source = net.getSource();
+        Point sink = net.getSink();
+        if (Math.abs(source.x - sink.x) + Math.abs(source.y - sink.y) == 1) {
+            return new ArrayList<Point>(); //already touching
+        }
+        double[][] cost = new double[rows][cols];
+        int[][] previous = new int[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            Arrays.fill(cost[row], Double.POSITIVE_INFINITY);
+        }
+        PriorityQueue<double[]> pending = new PriorityQueue<double[]>((a, b) -> Double.compare(a[0], b[0]));
+        for (int dir = 0; dir < ROW_STEP.length; dir++) {
+            int row = source.x + ROW_STEP[dir];
+            int col = source.y + COL_STEP[dir];
+            if (board.isOpen(row, col)) {
+                cost[row][col] = positionCost(row, col, sharingCost);
+                previous[row][col] = -1;
+                pending.add(new double[]{cost[row][col], row, col});
+            }
+        }
+        while (!pending.isEmpty()) {
+            double[] next = pending.remove();
+            int row = (int) next[1];
+            int col = (int) next[2];
+            if (next[0] > cost[row][col]) {
+                continue; //already settled at a smaller cost
+            }
+            if (Math.abs(row - sink.x) + Math.abs(col - sink.y) == 1) {
+                ArrayList<Point> trace = new ArrayList<Point>();
+                for (int at = row * cols + col; at != -1; at = previous[at / cols][at % cols]) {
+                    trace.add(new Point(at / cols, at % cols));
+                }
+                Collections.reverse(trace);
+                return trace;
+            }
+            for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                int nextRow = row + ROW_STEP[dir];
+                int nextCol = col + COL_STEP[dir];
+                if (board.isOpen(nextRow, nextCol)) {
+                    double nextCost = next[0] + positionCost(nextRow, nextCol, sharingCost);
+                    if (nextCost < cost[nextRow][nextCol]) {
+                        cost[nextRow][nextCol] = nextCost;
+                        previous[nextRow][nextCol] = row * cols + col;
+                        pending.add(new double[]{nextCost, nextRow, nextCol});
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if every net has a trace and no two traces share a position
+     */
+    public boolean isRouted() {
+        return routed && !traces.contains(null);
+    }
+
+    /**
+     * @return number of negotiation passes run
+     */
+    public int passes() {
+        return passes;
+    }
+
+    /**
+     * @param net net index on the board
+     * @return trace positions of net in order from its source, or null if
+     * the net cannot be connected
+     */
+    public ArrayList<Point> getTrace(int net) {
+        return (traces.get(net) == null ? null : new ArrayList<Point>(traces.get(net)));
+    }
+
+    /**
+     * @param net net index on the board
+     * @return true if the trace of net shares a position with another net
+     */
+    public boolean isCongested(int net) {
+        return overusedPositions(net) > 0;
+    }
+
+    /**
+     * @return one line per net giving its trace length and positions, or why
+     * it has none
+     */
+    public String report() {
+        StringBuilder str = new StringBuilder();
+        for (int net = 0; net < board.netCount(); net++) {
+            str.append("Net " + board.getNet(net).getLabel());
+            if (traces.get(net) == null) {
+                str.append(": unroutable\n");
+                continue;
+            }
+            str.append(", length " + traces.get(net).size() + (isCongested(net) ? " (shared)" : "") + ":");
+            for (Point p : traces.get(net)) {
+                str.append(" (" + p.x + ", " + p.y + ")");
+            }
+            str.append("\n");
+        }
+        return str.toString();
+    }
+
+    /**
+     * Character marking the trace of net on the routed board, distinct from
+     * every label so a trace never reads as part of a component: the label
+     * in the opposite case when that is free, else the next of SPARE_MARKS,
+     * else 'T'. report() lists each net's positions by label.
+     *
+     * @param net net index on the board
+     * @return trace mark of net
+     */
+    public char traceMark(int net) {
+        int spare = 0;
+        for (int other = 0; other < net; other++) {
+            if (swappedLabel(other) == 0) {
+                spare++;
+            }
+        }
+        char swapped = swappedLabel(net);
+        if (swapped != 0) {
+            return swapped;
+        }
+        return (spare < SPARE_MARKS.length() ? SPARE_MARKS.charAt(spare) : 'T');
+    }
+
+    /**
+     * @return the label of net in the opposite case, or 0 if it has no case,
+     * is another net's label or reads as 'O', 'X' or 'T'
+     */
+    private char swappedLabel(int net) {
+        char label = board.getNet(net).getLabel();
+        char swapped = (Character.isUpperCase(label) ? Character.toLowerCase(label) : Character.toUpperCase(label));
+        if (swapped == label || "OXT".indexOf(Character.toUpperCase(swapped)) != -1) {
+            return 0;
+        }
+        for (int other = 0; other < board.netCount(); other++) {
+            if (board.getNet(other).getLabel() == swapped) {
+                return 0;
+            }
+        }
+        return swapped;
+    }
+
+    /**
+     * Terminals keep their labels, each trace position shows its net's
+     * traceMark(), and positions used by more than one net's trace show
+     * SHARED.
+     *
+     * @return the routed board
+     */
+    public String toString() {
+        char[][] routedBoard = new char[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                routedBoard[row][col] = board.charAt(row, col);
+            }
+        }
+        for (int net = 0; net < board.netCount(); net++) {
+            char mark = traceMark(net);
+            if (traces.get(net) != null) {
+                for (Point p : traces.get(net)) {
+                    routedBoard[p.x][p.y] = (occupancy[p.x][p.y] > 1 ? SHARED : mark);
+                }
+            }
+        }
+        StringBuilder str = new StringBuilder();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                str.append(routedBoard[row][col] + " ");
+            }
+            str.append("\n");
+        }
+        return str.toString();
+    }
+} // class NetRouter
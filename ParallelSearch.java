@@ -0,0 +1,152 @@
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Depth-first search for all shortest paths spread across the cores of a
+ * ForkJoinPool. Every TraceState roots an independent subtree, so a worker
+ * hands off neighbor states as separate tasks whenever its own task queue runs
+ * low and idle workers steal them. All workers prune against one shared best
+ * length, so a short solution found on one core immediately cuts the search on
+ * every other core. Solutions are merged and sorted by their trace positions
+ * so the result does not depend on thread timing.
+ *
+ * @author Daylen Mathews
+ */
+public class ParallelSearch {
+
+    /**
+     * a worker forks neighbor states while it has fewer than this many
+     * unclaimed tasks queued, otherwise it keeps them for itself
+     */
+    private static final int SURPLUS_TASKS = 3;
+
+    /**
+     * orders solutions by their trace positions, row first, from the start
+     */
+    static final Comparator<TraceState> BY_PATH = (a, b) -> Arrays.compare(a.getPathIndices(),
+            b.getPathIndices()); //packed positions sort row first
+
+    private CircuitBoard board;
+    private int endRow;
+    private int endCol;
+    private ForkJoinPool pool;
+    /**
+     * shortest solution length found by any worker so far
+     */
+    private AtomicInteger bestLength = new AtomicInteger(Integer.MAX_VALUE);
+
+    /**
+     * Search using the common ForkJoinPool.
+     *
+     * @param board board to search
+     */
+    public ParallelSearch(CircuitBoard board) {
+        this(board, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param board board to search
+     * @param pool pool whose workers run the search
+     */
+    public ParallelSearch(CircuitBoard board, ForkJoinPool pool) {
+        this.board = board;
+        this.pool = pool;
+        endRow = board.getEndingIndex() / board.numCols();
+        endCol = board.getEndingIndex() % board.numCols();
+    }
+
+    /**
+     * @return all shortest solutions, sorted by trace positions
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        ArrayList<TraceState> found = pool.invoke(new SubtreeTask(null));
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        for (TraceState state : found) {
+            if (state.pathLength() == bestLength.get()) {
+                bestPaths.add(state);
+            }
+        }
+        bestPaths.sort(BY_PATH);
+        return bestPaths;
+    }
+
+    /**
+     * Searches the subtree below one state, or below the starting component
+     * when the state is null.
+     */
+    @SuppressWarnings("serial")
+    private class SubtreeTask extends RecursiveTask<ArrayList<TraceState>> {
+
+        private TraceState root;
+
+        /**
+         * @param root state whose subtree to search, null for the whole board
+         */
+        SubtreeTask(TraceState root) {
+            this.root = root;
+        }
+
+        @Override
+        protected ArrayList<TraceState> compute() {
+            ArrayList<TraceState> solutions = new ArrayList<>();
+            ArrayList<SubtreeTask> forked = new ArrayList<>();
+            Storage<TraceState> stateStore = Storage.getStackInstance();
+            if (root == null) {
+                int start = board.getStartingIndex();
+                expand(start / board.numCols(), start % board.numCols(), null, stateStore, forked);
+            } else {
+                stateStore.store(root);
+            }
+            while (!stateStore.isEmpty()) {
+                TraceState currentState = stateStore.retrieve();
+                if (currentState.minSolutionLength() > bestLength.get()) {
+                    continue; //another worker may have shortened the best path
+                }
+                if (currentState.isSolution()) {
+                    bestLength.accumulateAndGet(currentState.pathLength(), Math::min);
+                    solutions.add(currentState);
+                } else {
+                    expand(currentState.getRow(), currentState.getCol(), currentState, stateStore, forked);
+                }
+            }
+            for (SubtreeTask task : forked) {
+                solutions.addAll(task.join());
+            }
+            solutions.removeIf(state -> state.pathLength() > bestLength.get());
+            return solutions;
+        }
+
+        /**
+         * Store or fork the states extending previous into each open neighbor
+         * of (row, col).
+         *
+         * @param previous state ending at (row, col), null for the starting
+         * component
+         */
+        private void expand(int row, int col, TraceState previous, Storage<TraceState> stateStore,
+                ArrayList<SubtreeTask> forked) {
+            int nextLength = (previous == null ? 1 : previous.pathLength() + 1);
+            int[][] neighbors = {{row - 1, col}, {row + 1, col}, {row, col - 1}, {row, col + 1}};
+            for (int[] n : neighbors) {
+                boolean open = (previous == null ? board.isOpen(n[0], n[1]) : previous.isOpen(n[0], n[1]));
+                if (!open || nextLength + Math.abs(n[0] - endRow) + Math.abs(n[1] - endCol) - 1 > bestLength.get()) {
+                    continue;
+                }
+                TraceState next = (previous == null ? new TraceState(board, n[0], n[1])
+                        : new TraceState(previous, n[0], n[1]));
+                if (getSurplusQueuedTaskCount() < SURPLUS_TASKS) {
+                    SubtreeTask task = new SubtreeTask(next);
+                    task.fork();
+                    forked.add(task);
+                } else {
+                    stateStore.store(next);
+                }
+            }
+        }
+    }
+} // class ParallelSearch
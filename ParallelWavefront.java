@@ -0,0 +1,181 @@
+
+import java.awt.Point;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Level-synchronous breadth-first search that splits a CircuitBoard into
+ * horizontal bands of rows, one per core. Each level is expanded in two
+ * parallel phases: every band first labels the positions its own frontier
+ * reaches inside the band and posts the ones that cross into a neighboring
+ * band, then every band absorbs the positions posted to it. A band only ever
+ * writes its own rows, so no locking is needed, and because each level
+ * completes before the next begins the distances are exactly those of a
+ * sequential breadth-first search.
+ *
+ * @author Daylen Mathews
+ */
+public class ParallelWavefront {
+
+    private CircuitBoard board;
+    private int cols;
+    private int[][] distance;
+    private int bandCount;
+    private int bandHeight;
+    /**
+     * per band: positions labelled by the last level and by the current one
+     */
+    private CellList[] frontier;
+    private CellList[] next;
+    /**
+     * per band: positions posted by the band above and by the band below
+     */
+    private CellList[] fromAbove;
+    private CellList[] fromBelow;
+
+    /**
+     * Label every open position reachable from source.
+     *
+     * @param board board to measure
+     * @param source position of the component to measure from
+     * @param bands number of row bands to split the board into
+     */
+    private ParallelWavefront(CircuitBoard board, Point source, int bands) {
+        this.board = board;
+        int rows = board.numRows();
+        cols = board.numCols();
+        bandCount = Math.max(1, Math.min(bands, rows));
+        bandHeight = (rows + bandCount - 1) / bandCount;
+        bandCount = (rows + bandHeight - 1) / bandHeight;
+        distance = new int[rows][cols];
+        for (int[] row : distance) {
+            Arrays.fill(row, DistanceField.UNREACHED);
+        }
+        frontier = new CellList[bandCount];
+        next = new CellList[bandCount];
+        fromAbove = new CellList[bandCount];
+        fromBelow = new CellList[bandCount];
+        for (int b = 0; b < bandCount; b++) {
+            frontier[b] = new CellList();
+            next[b] = new CellList();
+            fromAbove[b] = new CellList();
+            fromBelow[b] = new CellList();
+        }
+
+        int[][] seeds = {{source.x - 1, source.y}, {source.x + 1, source.y},
+            {source.x, source.y - 1}, {source.x, source.y + 1}};
+        boolean expanding = false;
+        for (int[] s : seeds) {
+            if (board.isOpen(s[0], s[1])) {
+                distance[s[0]][s[1]] = 1;
+                frontier[s[0] / bandHeight].add(s[0] * cols + s[1]);
+                expanding = true;
+            }
+        }
+        for (int level = 2; expanding; level++) {
+            final int nextLevel = level;
+            IntStream.range(0, bandCount).parallel().forEach(b -> expandBand(b, nextLevel));
+            IntStream.range(0, bandCount).parallel().forEach(b -> absorbBoundary(b, nextLevel));
+            CellList[] swap = frontier;
+            frontier = next;
+            next = swap;
+            expanding = false;
+            for (CellList band : frontier) {
+                expanding |= band.size > 0;
+            }
+        }
+    }
+
+    /**
+     * Phase one: label neighbors of band b's frontier that lie in band b and
+     * post those that lie in the bands above or below.
+     */
+    private void expandBand(int b, int level) {
+        CellList cells = frontier[b];
+        int firstRow = b * bandHeight;
+        int lastRow = firstRow + bandHeight - 1;
+        for (int i = 0; i < cells.size; i++) {
+            int row = cells.cells[i] / cols;
+            int col = cells.cells[i] % cols;
+            if (row == firstRow) {
+                if (board.isOpen(row - 1, col)) {
+                    fromBelow[b - 1].add((row - 1) * cols + col);
+                }
+            } else {
+                label(b, row - 1, col, level);
+            }
+            if (row == lastRow) {
+                if (board.isOpen(row + 1, col)) {
+                    fromAbove[b + 1].add((row + 1) * cols + col);
+                }
+            } else {
+                label(b, row + 1, col, level);
+            }
+            label(b, row, col - 1, level);
+            label(b, row, col + 1, level);
+        }
+        cells.clear();
+    }
+
+    /**
+     * Phase two: label the boundary positions posted to band b.
+     */
+    private void absorbBoundary(int b, int level) {
+        for (CellList posted : new CellList[]{fromAbove[b], fromBelow[b]}) {
+            for (int i = 0; i < posted.size; i++) {
+                label(b, posted.cells[i] / cols, posted.cells[i] % cols, level);
+            }
+            posted.clear();
+        }
+    }
+
+    /**
+     * Label (row, col), which must lie in band b, if it is open and unlabelled.
+     */
+    private void label(int b, int row, int col, int level) {
+        if (board.isOpen(row, col) && distance[row][col] == DistanceField.UNREACHED) {
+            distance[row][col] = level;
+            next[b].add(row * cols + col);
+        }
+    }
+
+    /**
+     * @param board board to measure
+     * @param bands number of row bands, normally the number of cores
+     * @return distances from the starting component '1'
+     */
+    public static DistanceField fromStart(CircuitBoard board, int bands) {
+        return new DistanceField(new ParallelWavefront(board, board.getStartingPoint(), bands).distance,
+                board.getStartingPoint());
+    }
+
+    /**
+     * @param board board to measure
+     * @param bands number of row bands, normally the number of cores
+     * @return distances from the ending component '2'
+     */
+    public static DistanceField fromEnd(CircuitBoard board, int bands) {
+        return new DistanceField(new ParallelWavefront(board, board.getEndingPoint(), bands).distance,
+                board.getEndingPoint());
+    }
+
+    /**
+     * Growable list of packed row * cols + col positions.
+     */
+    private static class CellList {
+
+        private int[] cells = new int[16];
+        private int size;
+
+        void add(int cell) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+            }
+            cells[size++] = cell;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+} // class ParallelWavefront
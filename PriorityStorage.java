@@ -0,0 +1,40 @@
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Storage retrieving the least element first, kept in a binary heap.
+ *
+ * @author Daylen Mathews
+ */
+public final class PriorityStorage<T> implements Storage<T> {
+
+    private PriorityQueue<T> priorityQueue;
+
+    /**
+     * @param order ordering of elements, where the least element is retrieved
+     * first; null for natural ordering
+     */
+    public PriorityStorage(Comparator<? super T> order) {
+        priorityQueue = new PriorityQueue<T>(order);
+    }
+
+    @Override
+    public void store(T element) {
+        priorityQueue.add(element);
+    }
+
+    @Override
+    public T retrieve() {
+        return priorityQueue.remove();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return priorityQueue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return priorityQueue.size();
+    }
+} // class PriorityStorage
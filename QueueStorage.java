@@ -0,0 +1,32 @@
+import java.util.ArrayDeque;
+
+/**
+ * Storage retrieving the earliest stored element first, kept in an
+ * ArrayDeque ring instead of a LinkedList with a node per element.
+ *
+ * @author Daylen Mathews
+ */
+public final class QueueStorage<T> implements Storage<T> {
+
+    private ArrayDeque<T> queue = new ArrayDeque<T>();
+
+    @Override
+    public void store(T element) {
+        queue.addLast(element);
+    }
+
+    @Override
+    public T retrieve() {
+        return queue.removeFirst();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+} // class QueueStorage
@@ -0,0 +1,168 @@
+
+import java.util.Arrays;
+
+/**
+ * Pre-pass that finds the open positions of a CircuitBoard that can lie on a
+ * trace from '1' to '2' and cuts the board down to them. A position can be
+ * part of such a trace exactly when it shares a biconnected block with an
+ * extra edge joining the two components, so one depth-first search that
+ * steps from '1' straight to '2' and tracks low points is enough: anything
+ * behind a single-cell entrance, and anything '2' cannot reach, falls outside
+ * that block. The working board blocks every other open position and is
+ * cropped to the bounding box of what remains, which makes every search
+ * state on it cheaper to copy. Solutions found on the working board are
+ * mapped back onto the original with restore().
+ *
+ * @author Daylen Mathews
+ */
+public class ReachabilityFilter {
+
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+    private static final int UNVISITED = -1;
+
+    private CircuitBoard board;
+    private int cols;
+    /**
+     * true for each open position that can lie on a trace
+     */
+    private boolean[] useful;
+    private boolean connectable;
+    /**
+     * bounding box of the useful positions and both components
+     */
+    private int firstRow;
+    private int firstCol;
+    private int lastRow;
+    private int lastCol;
+
+    /**
+     * Find the useful positions of board.
+     *
+     * @param board board to filter
+     */
+    public ReachabilityFilter(CircuitBoard board) {
+        this.board = board;
+        cols = board.numCols();
+        int size = board.numRows() * cols;
+        int start = board.getStartingIndex();
+        int end = board.getEndingIndex();
+
+        //iterative depth-first search, entering '2' from '1' through the extra edge first
+        int[] disc = new int[size];
+        int[] low = new int[size];
+        int[] parent = new int[size];
+        int[] nextDirection = new int[size];
+        int[] order = new int[size];
+        Arrays.fill(disc, UNVISITED);
+        int visited = 0;
+        disc[start] = low[start] = visited;
+        order[visited++] = start;
+        disc[end] = low[end] = visited;
+        order[visited++] = end;
+        parent[end] = start;
+        int[] stack = new int[size];
+        int top = 0;
+        stack[top++] = end;
+        while (top > 0) {
+            int u = stack[top - 1];
+            if (nextDirection[u] < ROW_STEP.length) {
+                int dir = nextDirection[u]++;
+                int row = u / cols + ROW_STEP[dir];
+                int col = u % cols + COL_STEP[dir];
+                if (!board.isOpen(row, col) && !board.isStart(row, col) && !board.isEnd(row, col)) {
+                    continue;
+                }
+                int v = row * cols + col;
+                if (disc[v] == UNVISITED) {
+                    disc[v] = low[v] = visited;
+                    order[visited++] = v;
+                    parent[v] = u;
+                    stack[top++] = v;
+                } else if (v != parent[u]) {
+                    low[u] = Math.min(low[u], disc[v]);
+                }
+            } else {
+                top--;
+                if (u != end) {
+                    low[parent[u]] = Math.min(low[parent[u]], low[u]);
+                }
+            }
+        }
+
+        //a position is in the block of the extra edge unless an ancestor separates it
+        useful = new boolean[size];
+        boolean[] inBlock = new boolean[size];
+        inBlock[end] = true;
+        firstRow = Math.min(start / cols, end / cols);
+        lastRow = Math.max(start / cols, end / cols);
+        firstCol = Math.min(start % cols, end % cols);
+        lastCol = Math.max(start % cols, end % cols);
+        for (int i = 2; i < visited; i++) {
+            int v = order[i];
+            int p = parent[v];
+            if (inBlock[p] && low[v] < disc[p]) {
+                inBlock[v] = true;
+                useful[v] = true;
+                connectable = true;
+                firstRow = Math.min(firstRow, v / cols);
+                lastRow = Math.max(lastRow, v / cols);
+                firstCol = Math.min(firstCol, v % cols);
+                lastCol = Math.max(lastCol, v % cols);
+            }
+        }
+    }
+
+    /**
+     * @return false if no trace can connect the components at all
+     */
+    public boolean isConnectable() {
+        return connectable;
+    }
+
+    /**
+     * @param row
+     * @param col
+     * @return true if (row, col) is open and can lie on a trace
+     */
+    public boolean isUseful(int row, int col) {
+        return board.isOpen(row, col) && useful[row * cols + col];
+    }
+
+    /**
+     * @return copy of the board and its costs cropped to the useful region,
+     * with every other open position blocked
+     */
+    public CircuitBoard getWorkingBoard() {
+        char[][] contents = new char[lastRow - firstRow + 1][lastCol - firstCol + 1];
+        int[][] costs = (board.hasCosts() ? new int[contents.length][contents[0].length] : null);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                char c = board.charAt(row, col);
+                contents[row - firstRow][col - firstCol] = (c == 'O' && !isUseful(row, col) ? 'X' : c);
+                if (costs != null) {
+                    costs[row - firstRow][col - firstCol] = board.costAt(row, col);
+                }
+            }
+        }
+        return new CircuitBoard(contents, costs);
+    }
+
+    /**
+     * Map a solution found on the working board back onto the original.
+     *
+     * @param solved solved copy of the working board
+     * @return copy of the original board with the same traces
+     */
+    public CircuitBoard restore(CircuitBoard solved) {
+        CircuitBoard restored = new CircuitBoard(board);
+        for (int row = 0; row < solved.numRows(); row++) {
+            for (int col = 0; col < solved.numCols(); col++) {
+                if (solved.charAt(row, col) == 'T' && board.isOpen(row + firstRow, col + firstCol)) {
+                    restored.makeTrace(row + firstRow, col + firstCol);
+                }
+            }
+        }
+        return restored;
+    }
+} // class ReachabilityFilter
@@ -0,0 +1,29 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * ConcurrentStorage retrieving elements oldest first from one queue shared
+ * by all workers. ConcurrentLinkedQueue is the Michael-Scott lock-free queue:
+ * any number of threads store and retrieve through compare-and-set on its
+ * head and tail, and none ever blocks another.
+ *
+ * @author Daylen Mathews
+ */
+public final class SharedQueueStorage<T> extends ConcurrentStorage<T> {
+
+    private ConcurrentLinkedQueue<T> queue = new ConcurrentLinkedQueue<T>();
+
+    @Override
+    protected void put(T element) {
+        queue.add(element);
+    }
+
+    @Override
+    protected T take() {
+        return queue.poll();
+    }
+
+    @Override
+    protected int stored() {
+        return queue.size();
+    }
+} // class SharedQueueStorage
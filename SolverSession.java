@@ -0,0 +1,82 @@
+
+/**
+ * Keeps a CircuitBoard and its distance fields from both components alive
+ * between solves, for design loops that repeatedly open or block single
+ * positions. Each edit repairs only the part of the distance fields that the
+ * edit changes instead of parsing and searching the whole board again, after
+ * which the current shortest length, count and paths are available from
+ * search().
+ *
+ * @author Daylen Mathews
+ */
+public class SolverSession {
+
+    private CircuitBoard board;
+    private DistanceField fromStart;
+    private DistanceField fromEnd;
+
+    /**
+     * Start a session on a private copy of board.
+     *
+     * @param board initial layout
+     */
+    public SolverSession(CircuitBoard board) {
+        this.board = new CircuitBoard(board);
+        fromStart = DistanceField.fromStart(this.board);
+        fromEnd = DistanceField.fromEnd(this.board);
+    }
+
+    /**
+     * Change a blocked position to open.
+     *
+     * @param row
+     * @param col
+     * @throws OccupiedPositionException if given position holds a component
+     */
+    public void open(int row, int col) {
+        if (board.isOpen(row, col)) {
+            return;
+        }
+        board.makeOpen(row, col);
+        fromStart.opened(board, row, col);
+        fromEnd.opened(board, row, col);
+    }
+
+    /**
+     * Change an open position to blocked.
+     *
+     * @param row
+     * @param col
+     * @throws OccupiedPositionException if given position is not open
+     */
+    public void block(int row, int col) {
+        board.makeBlocked(row, col);
+        fromStart.blocked(board, row, col);
+        fromEnd.blocked(board, row, col);
+    }
+
+    /**
+     * @return number of traces in a shortest path on the current layout, or
+     * DistanceField.UNREACHED if the components cannot be connected
+     */
+    public int shortestLength() {
+        return fromStart.shortestLength(board.getEndingPoint());
+    }
+
+    /**
+     * Shortest paths on the current layout. The returned search reads the
+     * session's distance fields, so use it before making further edits.
+     *
+     * @return layered search over the current layout
+     */
+    public LayeredSearch search() {
+        return new LayeredSearch(board, fromStart, fromEnd);
+    }
+
+    /**
+     * @return copy of the current layout
+     */
+    public CircuitBoard getBoard() {
+        return new CircuitBoard(board);
+    }
+} // class SolverSession
@@ -0,0 +1,32 @@
+import java.util.ArrayDeque;
+
+/**
+ * Storage retrieving the most recently stored element first, kept in an
+ * ArrayDeque: no locking, as with java.util.Stack, and no node per element.
+ *
+ * @author Daylen Mathews
+ */
+public final class StackStorage<T> implements Storage<T> {
+
+    private ArrayDeque<T> stack = new ArrayDeque<T>();
+
+    @Override
+    public void store(T element) {
+        stack.push(element);
+    }
+
+    @Override
+    public T retrieve() {
+        return stack.pop();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return stack.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return stack.size();
+    }
+} // class StackStorage
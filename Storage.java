@@ -1,70 +1,48 @@
-
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Stack;
+import java.util.Comparator;
 
 /**
  * A container for storing elements of type T in one of several possible
- * underlying data structures. Additional data structures (or variations on data
- * structures) can be added by adding to the DataStructure enum values and
- * adding corresponding cases to wrapper methods. This is an example of a design
- * pattern known as a Bridge, that allows users to interact with potentially
- * many different classes through a common interface.
+ * underlying data structures. Each data structure has its own final
+ * implementation of this interface, so a call site that only ever sees one
+ * of them stays monomorphic and its calls can be inlined; the static methods
+ * here return the implementation matching each choice. Additional data
+ * structures can be added by writing another implementation and a method to
+ * get it.
+ *
+ * Plain int indices, such as packed positions or FrontierArena states, go in
+ * an IntStorage instead, which stores them without boxing.
  *
  * @author CS221
  */
-public class Storage<T> {
-
-    /**
-     * supported underlying data structures for Storage to use
-     */
-    public static enum DataStructure {
-        stack, queue
-    }
-    /**
-     * the data structure chosen for this Storage to use
-     */
-    private DataStructure dataStructure;
-    /**
-     * the data structures - only one will be instantiated and used
-     */
-    private Queue<T> queue;
-    private Stack<T> stack;
+public interface Storage<T> {
 
     /**
-     * Constructor
+     * Returns a Storage configured to use a stack
      *
-     * @param dataStructure choice of DataStructures
+     * @return instance of Storage configured to use a stack
      */
-    public Storage(DataStructure dataStructure) {
-        this.dataStructure = dataStructure;
-        switch (this.dataStructure) {
-            case stack:
-                stack = new Stack<T>();
-                break;
-            case queue:
-                queue = new LinkedList<T>();
-        }
+    public static <E> Storage<E> getStackInstance() {
+        return new StackStorage<E>();
     }
 
     /**
-     * Alternative to using the constructor returns a Storage already configured
-     * to use a Stack
+     * Returns a Storage configured to use a queue
      *
-     * @return instance of Storage configured to use a Stack
+     * @return instance of Storage configured to use a queue
      */
-    public static <E> Storage<E> getStackInstance() {
-        return new Storage<E>(DataStructure.stack);
+    public static <E> Storage<E> getQueueInstance() {
+        return new QueueStorage<E>();
     }
 
     /**
-     * Alternative to using the constructor returns a Storage already configured
-     * to use a Queue
+     * Returns a Storage configured to use a binary heap priority queue
      *
-     * @return instance of Storage configured to use a Queue
+     * @param order ordering of elements, where the least is retrieved first;
+     * null for natural ordering
+     * @return instance of Storage configured to use a PriorityQueue
      */
-    public static <E> Storage<E> getQueueInstance() {
-        return new Storage<E>(DataStructure.queue);
+    public static <E> Storage<E> getPriorityInstance(Comparator<? super E> order) {
+        return new PriorityStorage<E>(order);
     }
 
     /**
@@ -72,61 +50,23 @@ public class Storage<T> {
      *
      * @param element T to store
      */
-    public void store(T element) {
-        switch (dataStructure) {
-            case stack:
-                stack.push(element);
-                break;
-            case queue:
-                queue.add(element);
-        }
-    }
+    public void store(T element);
 
     /**
      * Remove and return the next T from storage
      *
      * @return next T from storage
+     * @throws java.util.NoSuchElementException if storage is empty
      */
-    public T retrieve() {
-        T next = null;
-        switch (dataStructure) {
-            case stack:
-                next = stack.pop();
-                break;
-            case queue:
-                next = queue.remove();
-        }
-
-        return next;
-    }
+    public T retrieve();
 
     /**
      * @return true if store is empty, else false
      */
-    public boolean isEmpty() {
-        boolean result = true;
-        switch (dataStructure) {
-            case stack:
-                result = stack.isEmpty();
-                break;
-            case queue:
-                result = queue.isEmpty();
-        }
-        return result;
-    }
+    public boolean isEmpty();
 
     /**
      * @return size of store
      */
-    public int size() {
-        int size = 0;
-        switch (dataStructure) {
-            case stack:
-                size = stack.size();
-                break;
-            case queue:
-                size = queue.size();
-        }
-        return size;
-    }
-} // class Storage
+    public int size();
+} // interface Storage
@@ -1,17 +1,43 @@
 
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Represents a potential path through a CircuitBoard - a search state for
  * CircuitTracer.
  *
+ * A state stores only its last position and a pointer to the state it grew
+ * from, so every state shares its path prefix and its untraced board with its
+ * ancestors and extending a path costs a few dozen bytes instead of a copy of
+ * the board and the path. The exception is every state whose path length is
+ * a multiple of CHECKPOINT_INTERVAL: it also keeps the sorted positions of
+ * its whole path, four bytes per position, so a queue search whose current
+ * layer falls on such a length holds that much per state in the layer.
+ * Whether a position is already on the path is answered by a binary search
+ * of the nearest checkpoint's positions plus a walk over at most
+ * CHECKPOINT_INTERVAL newer ones, usually skipped entirely by a 64-bit
+ * summary of the positions since the checkpoint. The board with its 'T's is
+ * only built when getBoard() asks for it. Positions are plain ints
+ * throughout; getPath() and the List constructor convert to and from Points
+ * for the GUI.
+ *
  * @author mvail
  */
 public class TraceState {
 
-    private CircuitBoard board;		//state of the current board
-    private ArrayList<Point> path;	//history of traces added
+    private static final int CHECKPOINT_INTERVAL = 32;	//path lengths at which a state keeps its sorted positions
+
+    private CircuitBoard board;		//starting board without this path, shared by all states grown from it
+    private TraceState parent;		//state this one extends, null for the first position
+    private int row;				//last position on the path
+    private int col;
+    private int length;				//number of positions on the path
+    private long pathSummary;		//one bit per position after the checkpoint, hashed into 64 bits
+    private TraceState checkpoint;	//nearest state on the path, possibly this one, with sorted positions
+    private int[] occupied;			//positions on the path as row * cols + col, ascending, only on checkpoints
+    private int pooledChildren;		//states from a TraceStatePool extending this one and still in use
 
     /**
      * Initial state with the trace path beginning at given row and column
@@ -21,10 +47,7 @@ public class TraceState {
      * @param col initial path column
      */
     public TraceState(CircuitBoard startingBoard, int row, int col) {
-        board = new CircuitBoard(startingBoard);
-        path = new ArrayList<Point>();
-        board.makeTrace(row, col); //will throw exception if row, col is occupied
-        path.add(new Point(row, col));
+        this(new CircuitBoard(startingBoard), null, row, col);
     }
 
     /**
@@ -36,10 +59,159 @@ public class TraceState {
      * @param col column of next point to add to the path
      */
     public TraceState(TraceState previousState, int row, int col) {
-        board = new CircuitBoard(previousState.board);
-        path = new ArrayList<Point>(previousState.path);
-        board.makeTrace(row, col); //will throw exception if row, col is occupied
-        path.add(new Point(row, col));
+        this(previousState.board, previousState, row, col);
+    }
+
+    /**
+     * State holding a complete trace path found by another search engine
+     *
+     * @param startingBoard
+     * @param tracePath positions of the trace as row * numCols() + col, at
+     * least one, in order from the starting component
+     */
+    public TraceState(CircuitBoard startingBoard, int[] tracePath) {
+        board = new CircuitBoard(startingBoard);
+        int cols = board.numCols();
+        for (int i = 0; i < tracePath.length - 1; i++) {
+            parent = new TraceState(board, parent, tracePath[i] / cols, tracePath[i] % cols);
+        }
+        int last = tracePath[tracePath.length - 1];
+        extend(last / cols, last % cols);
+    }
+
+    /**
+     * State holding a complete trace path found by another search engine
+     *
+     * @param startingBoard
+     * @param tracePath positions of the trace, at least one, in order from
+     * the starting component
+     */
+    public TraceState(CircuitBoard startingBoard, List<Point> tracePath) {
+        this(startingBoard, toIndices(tracePath, startingBoard.numCols()));
+    }
+
+    /**
+     * @return points packed as row * cols + col
+     */
+    private static int[] toIndices(List<Point> points, int cols) {
+        int[] cells = new int[points.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = points.get(i).x * cols + points.get(i).y;
+        }
+        return cells;
+    }
+
+    /**
+     * @param board untraced board shared with parent
+     * @param parent state to extend, or null to start a path
+     * @param row row of next point to add to the path
+     * @param col column of next point to add to the path
+     */
+    private TraceState(CircuitBoard board, TraceState parent, int row, int col) {
+        this.board = board;
+        this.parent = parent;
+        extend(row, col);
+    }
+
+    /**
+     * Unused state for a TraceStatePool to hand out later
+     */
+    TraceState() {
+    }
+
+    /**
+     * Turn this unused state into previousState extended by (row, col). Only
+     * for TraceStatePool.
+     *
+     * @throws OccupiedPositionException if given position is not open
+     */
+    void reuse(TraceState previousState, int row, int col) {
+        board = previousState.board;
+        parent = previousState;
+        extend(row, col);
+        previousState.pooledChildren++;
+    }
+
+    /**
+     * Clear this state for reuse. Only for TraceStatePool.
+     *
+     * @return the parent if this was its last pooled child still in use, else
+     * null
+     */
+    TraceState recycle() {
+        TraceState previous = parent;
+        board = null;
+        parent = null;
+        checkpoint = null;
+        occupied = null;
+        return (previous != null && --previous.pooledChildren == 0 ? previous : null);
+    }
+
+    /**
+     * @return true if a state from a TraceStatePool still extends this one
+     */
+    boolean hasPooledChildren() {
+        return pooledChildren > 0;
+    }
+
+    /**
+     * Make (row, col) the last position of this state's path.
+     *
+     * @throws OccupiedPositionException if given position is not open
+     */
+    private void extend(int row, int col) {
+        if (!board.isOpen(row, col) || (parent != null && parent.isOnPath(row, col))) {
+            throw new OccupiedPositionException("row " + row + ", col " + col + " is not open");
+        }
+        this.row = row;
+        this.col = col;
+        length = (parent == null ? 1 : parent.length + 1);
+        TraceState previousCheckpoint = (parent == null ? null : parent.checkpoint);
+        if (length % CHECKPOINT_INTERVAL != 0) {
+            checkpoint = previousCheckpoint;
+            occupied = null;
+            pathSummary = (parent == null ? 0L : parent.pathSummary) | summaryBit(row, col);
+            return;
+        }
+        int cols = board.numCols();
+        int[] older = (previousCheckpoint == null ? new int[0] : previousCheckpoint.occupied);
+        int[] newer = new int[length - older.length];
+        int count = 0;
+        for (TraceState state = this; state != previousCheckpoint; state = state.parent) {
+            newer[count++] = state.row * cols + state.col;
+        }
+        Arrays.sort(newer);
+        int[] merged = new int[length];
+        for (int i = 0, o = 0, n = 0; i < length; i++) {
+            merged[i] = (n == newer.length || (o < older.length && older[o] < newer[n]) ? older[o++] : newer[n++]);
+        }
+        checkpoint = this;
+        occupied = merged;
+        pathSummary = 0L;
+    }
+
+    /**
+     * @return the bit standing for (row, col) in a path summary
+     */
+    private static long summaryBit(int row, int col) {
+        return 1L << ((row * 31 + col) & 63);
+    }
+
+    /**
+     * @return true if (row, col) is on this state's path
+     */
+    private boolean isOnPath(int row, int col) {
+        if ((pathSummary & summaryBit(row, col)) != 0) {
+            for (TraceState state = this; state != checkpoint; state = state.parent) {
+                if (state.row == row && state.col == col) {
+                    return true;
+                }
+            }
+        }
+        if (checkpoint == null) {
+            return false;
+        }
+        return Arrays.binarySearch(checkpoint.occupied, row * board.numCols() + col) >= 0;
     }
 
     /**
@@ -50,28 +222,49 @@ public class TraceState {
      * @return true if given row and column position is open
      */
     public boolean isOpen(int row, int col) {
-        return board.isOpen(row, col);
+        return board.isOpen(row, col) && !isOnPath(row, col);
     }
 
     /**
      * @return path length
      */
     public int pathLength() {
-        return path.size();
+        return length;
+    }
+
+    /**
+     * Fewest trace positions any solution grown from this state can have: the
+     * current path plus one step per unit of Manhattan distance until the last
+     * trace is adjacent to the ending component.
+     *
+     * @return lower bound on the length of a solution extending this state
+     */
+    public int minSolutionLength() {
+        return pathLength() + distanceToEnd() - 1;
+    }
+
+    /**
+     * @return Manhattan distance from the last position to the ending
+     * component
+     */
+    private int distanceToEnd() {
+        int end = board.getEndingIndex();
+        int cols = board.numCols();
+        return Math.abs(row - end / cols) + Math.abs(col - end % cols);
     }
 
     /**
      * @return row of the last point in the path
      */
     public int getRow() {
-        return path.get(path.size() - 1).x;
+        return row;
     }
 
     /**
      * @return column of the last point in the path
      */
     public int getCol() {
-        return path.get(path.size() - 1).y;
+        return col;
     }
 
     /**
@@ -79,41 +272,49 @@ public class TraceState {
      * with 'T's
      */
     public CircuitBoard getBoard() {
-        return new CircuitBoard(board);
+        CircuitBoard traced = new CircuitBoard(board);
+        for (TraceState state = this; state != null; state = state.parent) {
+            traced.makeTrace(state.row, state.col);
+        }
+        return traced;
+    }
+
+    /**
+     * @return positions that make up the path as row * cols + col, in order
+     * from the starting component
+     */
+    public int[] getPathIndices() {
+        int cols = board.numCols();
+        int[] path = new int[length];
+        for (TraceState state = this; state != null; state = state.parent) {
+            path[state.length - 1] = state.row * cols + state.col;
+        }
+        return path;
     }
 
     /**
      * @return list of row, column points that make up the path
      */
     public ArrayList<Point> getPath() {
-        return new ArrayList<Point>(path);
+        int cols = board.numCols();
+        ArrayList<Point> path = new ArrayList<Point>(length);
+        for (int cell : getPathIndices()) {
+            path.add(new Point(cell / cols, cell % cols));
+        }
+        return path;
     }
 
     /**
      * @return true if path ends adjacent to ending component
      */
     public boolean isSolution() {
-        Point p1 = path.get(path.size() - 1);
-        Point p2 = board.getEndingPoint();
-        if (p1.x - 1 == p2.x && p1.y == p2.y) {
-            return true;
-        }
-        if (p1.x + 1 == p2.x && p1.y == p2.y) {
-            return true;
-        }
-        if (p1.x == p2.x && p1.y - 1 == p2.y) {
-            return true;
-        }
-        if (p1.x == p2.x && p1.y + 1 == p2.y) {
-            return true;
-        }
-        return false;
+        return distanceToEnd() == 1;
     }
 
     /* (non-Javadoc)
 	 * @see java.lang.Object#toString()
      */
     public String toString() {
-        return board.toString();
+        return getBoard().toString();
     }
 }
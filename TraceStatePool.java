@@ -0,0 +1,104 @@
+
+import java.util.Arrays;
+
+/**
+ * Recycles the TraceStates of a search so that a long run keeps reusing the
+ * same objects instead of feeding the garbage collector. The pool starts
+ * with one unused state per board position. A search takes states from it
+ * with obtain() instead of the TraceState constructor, and hands back every
+ * state it has retrieved and finished with, whether pruned or expanded, with
+ * release().
+ *
+ * States share their path prefixes, so a released state whose children are
+ * still stored or still being searched is only taken back once the last of
+ * them is released; releasing a state therefore can return a whole chain of
+ * ancestors at once. Solutions the search returns are never released, which
+ * keeps their paths intact; solutions a shorter one replaces are.
+ *
+ * @author Daylen Mathews
+ */
+public class TraceStatePool {
+
+    private TraceState[] free;
+    private int available;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param board board to be searched, which sizes the initial pool
+     */
+    public TraceStatePool(CircuitBoard board) {
+        free = new TraceState[Math.max(1, board.numRows() * board.numCols())];
+        for (available = 0; available < free.length; available++) {
+            free[available] = new TraceState();
+        }
+    }
+
+    /**
+     * Use in place of new TraceState(previousState, row, col).
+     *
+     * @param previousState state to extend
+     * @param row row of next point to add to the path
+     * @param col column of next point to add to the path
+     * @return a recycled state if one is free, else a new one
+     * @throws OccupiedPositionException if given position is not open
+     */
+    public TraceState obtain(TraceState previousState, int row, int col) {
+        TraceState state;
+        if (available > 0) {
+            state = free[--available];
+            free[available] = null;
+            hits++;
+        } else {
+            state = new TraceState();
+            misses++;
+        }
+        state.reuse(previousState, row, col);
+        return state;
+    }
+
+    /**
+     * Hand back a state the search has retrieved and will not look at again.
+     * It is recycled once no state obtained from this pool extends it.
+     *
+     * @param state finished state, which must not be stored or released again
+     */
+    public void release(TraceState state) {
+        while (state != null && !state.hasPooledChildren()) {
+            TraceState parent = state.recycle();
+            if (available == free.length) {
+                free = Arrays.copyOf(free, free.length * 2);
+            }
+            free[available++] = state;
+            state = parent;
+        }
+    }
+
+    /**
+     * @return number of states handed out by obtain() without allocating
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return number of states obtain() had to allocate
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * @return number of unused states waiting in the pool
+     */
+    public int available() {
+        return available;
+    }
+
+    /* (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    public String toString() {
+        return "TraceStatePool: " + hits + " hits, " + misses + " misses, " + available + " available";
+    }
+} // class TraceStatePool
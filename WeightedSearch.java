@@ -0,0 +1,266 @@
+
+import java.awt.Point;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Finds all minimum-cost paths between the components of a CircuitBoard whose
+ * positions carry routing costs. Costs from '1' are settled by Dijkstra's
+ * algorithm with a bucket queue (Dial's algorithm): since no position costs
+ * more than CircuitBoard.MAX_COST, a ring of MAX_COST + 1 buckets indexed by
+ * cost modulo the ring size holds every pending position, and the search
+ * simply sweeps the ring in order of increasing cost. Each position is added
+ * and removed in constant time, with no comparisons between them.
+ *
+ * Every cost is positive, so the edges whose cost difference equals the cost
+ * of the position entered form a directed acyclic graph, and every walk back
+ * along them from a cheapest position next to '2' is a cheapest trace.
+ *
+ * @author Daylen Mathews
+ */
+public class WeightedSearch {
+
+    private static final int UNREACHED = DistanceField.UNREACHED;
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    private CircuitBoard board;
+    private int cols;
+    private Point start;
+    private Point end;
+    /**
+     * cheapest cost of a trace from '1' through each position, counting the
+     * position itself; UNREACHED until a position is first labelled
+     */
+    private int[] cost;
+    /**
+     * positions in the order they were settled, which is increasing cost
+     */
+    private Bucket settled = new Bucket();
+    private int minimumCost = UNREACHED;
+
+    /**
+     * Settle costs in increasing order until every position as cheap as the
+     * cheapest one next to '2' is final.
+     *
+     * @param board board to search
+     */
+    public WeightedSearch(CircuitBoard board) {
+        this.board = board;
+        cols = board.numCols();
+        start = board.getStartingPoint();
+        end = board.getEndingPoint();
+        cost = new int[board.numRows() * cols];
+        Arrays.fill(cost, UNREACHED);
+        Bucket[] ring = new Bucket[CircuitBoard.MAX_COST + 1];
+        for (int b = 0; b < ring.length; b++) {
+            ring[b] = new Bucket();
+        }
+        int pending = 0;
+        for (int dir = 0; dir < ROW_STEP.length; dir++) {
+            int row = start.x + ROW_STEP[dir];
+            int col = start.y + COL_STEP[dir];
+            if (board.isOpen(row, col)) {
+                cost[row * cols + col] = board.costAt(row, col);
+                ring[cost[row * cols + col] % ring.length].add(row * cols + col);
+                pending++;
+            }
+        }
+        for (int current = 0; pending > 0 && (minimumCost == UNREACHED || current <= minimumCost); current++) {
+            Bucket bucket = ring[current % ring.length];
+            while (bucket.size > 0) {
+                int cell = bucket.remove();
+                pending--;
+                if (cost[cell] != current) {
+                    continue; //stale entry, the position was relabelled cheaper
+                }
+                settled.add(cell);
+                int row = cell / cols;
+                int col = cell % cols;
+                if (isNextToEnd(row, col)) {
+                    minimumCost = current;
+                }
+                for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                    int nextRow = row + ROW_STEP[dir];
+                    int nextCol = col + COL_STEP[dir];
+                    if (board.isOpen(nextRow, nextCol)) {
+                        int next = nextRow * cols + nextCol;
+                        int nextCost = current + board.costAt(nextRow, nextCol);
+                        if (cost[next] == UNREACHED || nextCost < cost[next]) {
+                            cost[next] = nextCost;
+                            ring[nextCost % ring.length].add(next);
+                            pending++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if (row, col) is next to '2'
+     */
+    private boolean isNextToEnd(int row, int col) {
+        return Math.abs(row - end.x) + Math.abs(col - end.y) == 1;
+    }
+
+    /**
+     * @return true if (row, col) is next to '1'
+     */
+    private boolean isNextToStart(int row, int col) {
+        return Math.abs(row - start.x) + Math.abs(col - start.y) == 1;
+    }
+
+    /**
+     * @return true if a cheapest trace to (row, col) can come straight from
+     * the open position (fromRow, fromCol)
+     */
+    private boolean isTight(int fromRow, int fromCol, int row, int col) {
+        return board.isOpen(fromRow, fromCol) && cost[fromRow * cols + fromCol] != UNREACHED
+                && cost[fromRow * cols + fromCol] + board.costAt(row, col) == cost[row * cols + col];
+    }
+
+    /**
+     * @return total cost of a cheapest trace, or DistanceField.UNREACHED if
+     * the components cannot be connected
+     */
+    public int minimumCost() {
+        return minimumCost;
+    }
+
+    /**
+     * Count the cheapest traces by summing, in settled order, the ways to
+     * reach each position along tight edges. Counts are kept in longs and
+     * recomputed with BigInteger only if they overflow.
+     *
+     * @return number of distinct cheapest traces
+     */
+    public BigInteger countCheapestPaths() {
+        if (minimumCost == UNREACHED) {
+            return BigInteger.ZERO;
+        }
+        try {
+            long[] ways = new long[cost.length];
+            long total = 0;
+            for (int i = 0; i < settled.size; i++) {
+                int cell = settled.cells[i];
+                int row = cell / cols;
+                int col = cell % cols;
+                long count = (isNextToStart(row, col) ? 1 : 0);
+                for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                    if (isTight(row + ROW_STEP[dir], col + COL_STEP[dir], row, col)) {
+                        count = Math.addExact(count, ways[cell + ROW_STEP[dir] * cols + COL_STEP[dir]]);
+                    }
+                }
+                ways[cell] = count;
+                if (cost[cell] == minimumCost && isNextToEnd(row, col)) {
+                    total = Math.addExact(total, count);
+                }
+            }
+            return BigInteger.valueOf(total);
+        } catch (ArithmeticException overflow) {
+            BigInteger[] ways = new BigInteger[cost.length];
+            BigInteger total = BigInteger.ZERO;
+            for (int i = 0; i < settled.size; i++) {
+                int cell = settled.cells[i];
+                int row = cell / cols;
+                int col = cell % cols;
+                BigInteger count = (isNextToStart(row, col) ? BigInteger.ONE : BigInteger.ZERO);
+                for (int dir = 0; dir < ROW_STEP.length; dir++) {
+                    if (isTight(row + ROW_STEP[dir], col + COL_STEP[dir], row, col)) {
+                        count = count.add(ways[cell + ROW_STEP[dir] * cols + COL_STEP[dir]]);
+                    }
+                }
+                ways[cell] = count;
+                if (cost[cell] == minimumCost && isNextToEnd(row, col)) {
+                    total = total.add(count);
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Walk back along tight edges from every cheapest position next to '2'
+     * to a position next to '1'.
+     *
+     * @return all cheapest solutions
+     */
+    public ArrayList<TraceState> findBestPaths() {
+        ArrayList<TraceState> bestPaths = new ArrayList<>();
+        if (minimumCost == UNREACHED) {
+            return bestPaths;
+        }
+        for (int i = 0; i < settled.size; i++) {
+            int cell = settled.cells[i];
+            if (cost[cell] == minimumCost && isNextToEnd(cell / cols, cell % cols)) {
+                walkBack(new Point(cell / cols, cell % cols), bestPaths);
+            }
+        }
+        return bestPaths;
+    }
+
+    /**
+     * Enumerate every tight walk from last back to a position next to '1'.
+     *
+     * @param last final position of the traces
+     * @param bestPaths list to add the traces found to
+     */
+    private void walkBack(Point last, ArrayList<TraceState> bestPaths) {
+        ArrayList<Point> path = new ArrayList<Point>(); //from last back toward '1'
+        ArrayList<Integer> nextDirection = new ArrayList<Integer>();
+        path.add(last);
+        nextDirection.add(0);
+        while (!path.isEmpty()) {
+            int depth = path.size() - 1;
+            Point p = path.get(depth);
+            //a position next to '1' costs only itself, so no tight edge leads into it
+            if (isNextToStart(p.x, p.y)) {
+                ArrayList<Point> trace = new ArrayList<Point>(path);
+                Collections.reverse(trace);
+                bestPaths.add(new TraceState(board, trace));
+                path.remove(depth);
+                nextDirection.remove(depth);
+                continue;
+            }
+            Point previous = null;
+            while (previous == null && nextDirection.get(depth) < ROW_STEP.length) {
+                int dir = nextDirection.get(depth);
+                nextDirection.set(depth, dir + 1);
+                if (isTight(p.x + ROW_STEP[dir], p.y + COL_STEP[dir], p.x, p.y)) {
+                    previous = new Point(p.x + ROW_STEP[dir], p.y + COL_STEP[dir]);
+                }
+            }
+            if (previous == null) {
+                path.remove(depth);
+                nextDirection.remove(depth);
+            } else {
+                path.add(previous);
+                nextDirection.add(0);
+            }
+        }
+    }
+
+    /**
+     * Growable list of packed row * cols + col positions, used both as one
+     * bucket of the ring and as the settled order.
+     */
+    private static class Bucket {
+
+        private int[] cells = new int[16];
+        private int size;
+
+        void add(int cell) {
+            if (size == cells.length) {
+                cells = Arrays.copyOf(cells, size * 2);
+            }
+            cells[size++] = cell;
+        }
+
+        int remove() {
+            return cells[--size];
+        }
+    }
+} // class WeightedSearch
@@ -0,0 +1,140 @@
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ConcurrentStorage giving every thread that uses it its own Chase-Lev
+ * deque. A worker stores and retrieves at the bottom of its own deque, so it
+ * searches depth first without contending with anyone; only when its deque is
+ * empty does it steal from the top of another worker's, which holds that
+ * worker's oldest, and so usually largest, subtrees.
+ *
+ * @author Daylen Mathews
+ */
+public final class WorkStealingStorage<T> extends ConcurrentStorage<T> {
+
+    /**
+     * every deque created so far, for thieves to look through
+     */
+    private CopyOnWriteArrayList<WorkDeque<T>> deques = new CopyOnWriteArrayList<WorkDeque<T>>();
+    private ThreadLocal<WorkDeque<T>> own = ThreadLocal.withInitial(() -> {
+        WorkDeque<T> deque = new WorkDeque<T>();
+        deques.add(deque);
+        return deque;
+    });
+
+    @Override
+    protected void put(T element) {
+        own.get().push(element);
+    }
+
+    @Override
+    protected T take() {
+        WorkDeque<T> mine = own.get();
+        T next = mine.pop();
+        if (next != null) {
+            return next;
+        }
+        int victims = deques.size();
+        int first = ThreadLocalRandom.current().nextInt(victims);
+        for (int i = 0; i < victims && next == null; i++) {
+            WorkDeque<T> victim = deques.get((first + i) % victims);
+            if (victim != mine) {
+                next = victim.steal();
+            }
+        }
+        return next;
+    }
+
+    @Override
+    protected int stored() {
+        int total = 0;
+        for (WorkDeque<T> deque : deques) {
+            total += deque.size();
+        }
+        return total;
+    }
+
+    /**
+     * Chase-Lev deque: one owner pushes and pops at the bottom while any
+     * thread may steal from the top. Owner and thieves only contend, through
+     * a compare-and-set on top, over the last element. The array doubles when
+     * full; a thief still reading the old one finds the same elements there.
+     */
+    private static final class WorkDeque<T> {
+
+        private volatile AtomicReferenceArray<T> array = new AtomicReferenceArray<T>(64);
+        private volatile long bottom;
+        private AtomicLong top = new AtomicLong();
+
+        /**
+         * Owner only.
+         */
+        void push(T element) {
+            long b = bottom;
+            long t = top.get();
+            AtomicReferenceArray<T> a = array;
+            if (b - t >= a.length() - 1) {
+                AtomicReferenceArray<T> grown = new AtomicReferenceArray<T>(a.length() * 2);
+                for (long i = t; i < b; i++) {
+                    grown.set((int) (i & (grown.length() - 1)), a.get((int) (i & (a.length() - 1))));
+                }
+                array = a = grown;
+            }
+            a.set((int) (b & (a.length() - 1)), element);
+            bottom = b + 1;
+        }
+
+        /**
+         * Owner only.
+         *
+         * @return newest element, or null if empty
+         */
+        T pop() {
+            long b = bottom - 1;
+            AtomicReferenceArray<T> a = array;
+            bottom = b;
+            long t = top.get();
+            if (t > b) {
+                bottom = b + 1; //was already empty
+                return null;
+            }
+            int slot = (int) (b & (a.length() - 1));
+            T element = a.get(slot);
+            if (t == b) {
+                //last element, race any thief for it
+                if (!top.compareAndSet(t, t + 1)) {
+                    element = null;
+                }
+                bottom = b + 1;
+            } else {
+                a.set(slot, null); //no thief can reach it, let it be collected
+            }
+            return element;
+        }
+
+        /**
+         * Any thread.
+         *
+         * @return oldest element, or null if empty or lost to another thread
+         */
+        T steal() {
+            long t = top.get();
+            long b = bottom;
+            if (t >= b) {
+                return null;
+            }
+            AtomicReferenceArray<T> a = array;
+            T element = a.get((int) (t & (a.length() - 1)));
+            return (top.compareAndSet(t, t + 1) ? element : null);
+        }
+
+        /**
+         * @return number of elements, possibly out of date
+         */
+        int size() {
+            return (int) Math.max(0, bottom - top.get());
+        }
+    }
+} // class WorkStealingStorage